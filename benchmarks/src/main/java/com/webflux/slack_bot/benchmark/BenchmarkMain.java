@@ -0,0 +1,30 @@
+package com.webflux.slack_bot.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+// Entry point of benchmarks.jar: plain JMH, except that the GC profiler is on unless another profiler is
+// named, so every run reports gc.alloc.rate.norm (bytes/op) next to ops/s.
+//   java -jar target/benchmarks.jar InteractiveHotPath
+//   java -jar target/benchmarks.jar InteractiveHotPath -prof stack   (replaces gc)
+public final class BenchmarkMain {
+    private static final Set<String> NO_RUN = Set.of("-h", "-l", "-lp", "-lprof", "-lrf", "-lrfp");
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = Arrays.asList(args);
+        if (options.contains("-prof") || options.stream().anyMatch(NO_RUN::contains)) {
+            Main.main(args);
+            return;
+        }
+        String[] withGc = Arrays.copyOf(args, args.length + 2);
+        withGc[args.length] = "-prof";
+        withGc[args.length + 1] = "gc";
+        Main.main(withGc);
+    }
+}
@@ -0,0 +1,94 @@
+package com.webflux.slack_bot.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+// Synthetic payloads following the Jira Cloud REST v3 response layout (field order and metadata noise);
+// generated, not recorded, so the issue count can be swept. Slack payloads in that shape live under fixtures/.
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static String resource(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) throw new IllegalArgumentException("No fixture " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // /slack/interactive request body as Slack sends it
+    static byte[] interactiveBody(String payloadJson) {
+        return ("payload=" + URLEncoder.encode(payloadJson, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String jiraSearchResponse(int issues) {
+        StringBuilder sb = new StringBuilder("{\"expand\":\"names,schema\",\"startAt\":0,\"maxResults\":")
+                .append(issues).append(",\"total\":").append(issues).append(",\"issues\":[");
+        for (int i = 0; i < issues; i++) {
+            if (i > 0) sb.append(',');
+            String key = "BDP-" + (1000 + i);
+            sb.append("{\"expand\":\"operations,versionedRepresentations,editmeta,changelog,renderedFields\",")
+                    .append("\"id\":\"").append(20000 + i).append("\",")
+                    .append("\"self\":\"https://example.atlassian.net/rest/api/3/issue/").append(20000 + i).append("\",")
+                    .append("\"key\":\"").append(key).append("\",")
+                    .append("\"fields\":{")
+                    .append("\"summary\":\"Improve onboarding flow for workspace admins, part ").append(i).append("\",")
+                    .append("\"status\":{\"self\":\"https://example.atlassian.net/rest/api/3/status/10000\",\"description\":\"\",")
+                    .append("\"iconUrl\":\"https://example.atlassian.net/\",\"name\":\"To Do\",\"id\":\"10000\",")
+                    .append("\"statusCategory\":{\"self\":\"https://example.atlassian.net/rest/api/3/statuscategory/2\",\"id\":2,")
+                    .append("\"key\":\"new\",\"colorName\":\"blue-gray\",\"name\":\"To Do\"}},")
+                    .append("\"issuetype\":{\"self\":\"https://example.atlassian.net/rest/api/3/issuetype/10000\",\"id\":\"10000\",")
+                    .append("\"description\":\"A big user story that needs to be broken down.\",")
+                    .append("\"iconUrl\":\"https://example.atlassian.net/images/icons/issuetypes/epic.svg\",")
+                    .append("\"name\":\"Epic\",\"subtask\":false,\"hierarchyLevel\":1},")
+                    .append("\"labels\":[\"onboarding\",\"admin\"],")
+                    .append("\"created\":\"2024-03-0").append(1 + i % 9).append("T10:15:30.000+0000\",")
+                    .append("\"updated\":\"2024-04-0").append(1 + i % 9).append("T08:00:00.000+0000\"}}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    static String jiraComponentsResponse(int components) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < components; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"self\":\"https://example.atlassian.net/rest/api/3/component/").append(10000 + i).append("\",")
+                    .append("\"id\":\"").append(10000 + i).append("\",\"name\":\"Component ").append(i).append("\",")
+                    .append("\"description\":\"Owned by team ").append(i % 7).append("\",")
+                    .append("\"assigneeType\":\"PROJECT_DEFAULT\",\"realAssigneeType\":\"PROJECT_DEFAULT\",")
+                    .append("\"isAssigneeTypeValid\":false,\"project\":\"BDP\",\"projectId\":10001}");
+        }
+        return sb.append("]").toString();
+    }
+
+    // A jira_ticket_modal view_submission whose description is padded to roughly descriptionBytes
+    static String viewSubmission(int descriptionBytes) {
+        StringBuilder description = new StringBuilder(descriptionBytes);
+        while (description.length() < descriptionBytes) {
+            description.append("Steps to reproduce: open the modal, pick \"Bug\" & submit.\n");
+        }
+        return "{\"type\":\"view_submission\",\"team\":{\"id\":\"T0001\",\"domain\":\"example\"},"
+                + "\"user\":{\"id\":\"U0001\",\"username\":\"dev\",\"team_id\":\"T0001\"},"
+                + "\"api_app_id\":\"A0001\",\"token\":\"verification-token\",\"trigger_id\":\"123.456.abc\","
+                + "\"view\":{\"id\":\"V0001\",\"team_id\":\"T0001\",\"type\":\"modal\",\"callback_id\":\"jira_ticket_modal\","
+                + "\"hash\":\"1700000000.abcd\",\"state\":{\"values\":{"
+                + "\"project_block\":{\"project\":{\"type\":\"static_select\",\"selected_option\":{\"text\":{\"type\":\"plain_text\",\"text\":\"Bot Demo Project (BDP)\"},\"value\":\"BDP\"}}},"
+                + "\"issue_type_block\":{\"issue_type\":{\"type\":\"static_select\",\"selected_option\":{\"text\":{\"type\":\"plain_text\",\"text\":\"Bug\"},\"value\":\"Bug\"}}},"
+                + "\"summary_block\":{\"summary\":{\"type\":\"plain_text_input\",\"value\":\"Login button does nothing on Safari\"}},"
+                + "\"description_block\":{\"description\":{\"type\":\"plain_text_input\",\"value\":\"" + description.toString().replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"}},"
+                + "\"assignee_block\":{\"assignee\":{\"type\":\"users_select\",\"selected_user\":\"U0002\"}},"
+                + "\"parent_epic_block\":{\"parent_epic\":{\"type\":\"external_select\",\"selected_option\":{\"text\":{\"type\":\"plain_text\",\"text\":\"Onboarding (BDP-10)\"},\"value\":\"BDP-10\"}}},"
+                + "\"components_block\":{\"components\":{\"type\":\"multi_external_select\",\"selected_options\":[{\"text\":{\"type\":\"plain_text\",\"text\":\"Backend\"},\"value\":\"Backend\"}]}},"
+                + "\"priority_block\":{\"priority\":{\"type\":\"static_select\",\"selected_option\":{\"text\":{\"type\":\"plain_text\",\"text\":\"High\"},\"value\":\"High\"}}},"
+                + "\"labels_block\":{\"labels\":{\"type\":\"multi_static_select\",\"selected_options\":[{\"text\":{\"type\":\"plain_text\",\"text\":\"bug\"},\"value\":\"bug\"}]}},"
+                + "\"start_date_block\":{\"start_date\":{\"type\":\"datepicker\",\"selected_date\":\"2024-05-01\"}},"
+                + "\"due_date_block\":{\"due_date\":{\"type\":\"datepicker\",\"selected_date\":\"2024-05-10\"}}"
+                + "}}}}";
+    }
+}
@@ -0,0 +1,101 @@
+package com.webflux.slack_bot.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webflux.slack_bot.model.InteractionPayload;
+import com.webflux.slack_bot.model.Option;
+import com.webflux.slack_bot.util.SlackJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// view_submission parse and block_suggestion response: readTree + JsonNode walking / string concatenation (legacy)
+// vs the typed model through SlackJson's prebuilt reader and writer. Run with -prof gc to compare allocation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InteractionModelBenchmark {
+    @Param({"256", "4096"})
+    public int descriptionBytes;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] submission;
+    private List<Option> options;
+
+    @Setup
+    public void setup() {
+        submission = Fixtures.viewSubmission(descriptionBytes).getBytes(StandardCharsets.UTF_8);
+        options = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            options.add(new Option("Fix \"login\" on Safari, part " + i + " (BDP-" + (1000 + i) + ")", "BDP-" + (1000 + i)));
+        }
+    }
+
+    @Benchmark
+    public void legacySubmission(Blackhole bh) throws Exception {
+        // The pre-model handler: build the whole tree, then path() into state.values per field
+        JsonNode payload = objectMapper.readTree(new ByteArrayInputStream(submission));
+        JsonNode values = payload.path("view").path("state").path("values");
+        bh.consume(payload.path("team").path("id").asText(""));
+        bh.consume(payload.path("view").path("id").asText(""));
+        bh.consume(values.path("project_block").path("project").path("selected_option").path("value").asText("BDP"));
+        bh.consume(values.path("summary_block").path("summary").path("value").asText(""));
+        bh.consume(values.path("description_block").path("description").path("value").asText(""));
+        bh.consume(values.path("assignee_block").path("assignee").path("selected_user").asText(""));
+        bh.consume(values.path("due_date_block").path("due_date").path("selected_date").asText(""));
+        List<String> components = new ArrayList<>();
+        for (JsonNode option : values.path("components_block").path("components").path("selected_options")) {
+            components.add(option.path("value").asText());
+        }
+        bh.consume(components);
+        bh.consume(values.hashCode());
+    }
+
+    @Benchmark
+    public void typedSubmission(Blackhole bh) throws Exception {
+        InteractionPayload payload = SlackJson.readPayload(new ByteArrayInputStream(submission));
+        InteractionPayload.View view = payload.getView();
+        bh.consume(payload.getTeamId());
+        bh.consume(view.getId());
+        bh.consume(view.value("project_block", "project", "BDP"));
+        bh.consume(view.value("summary_block", "summary", ""));
+        bh.consume(view.value("description_block", "description", ""));
+        bh.consume(view.value("assignee_block", "assignee", ""));
+        bh.consume(view.value("due_date_block", "due_date", ""));
+        bh.consume(view.values("components_block", "components"));
+        bh.consume(view.getValues().hashCode());
+    }
+
+    @Benchmark
+    public String legacyOptions() {
+        // Unescaped concatenation, as before; a quote in a label produces invalid JSON
+        String optionsJson = options.stream()
+                .map(opt -> "{\"text\": {\"type\": \"plain_text\", \"text\": \"" + opt.getLabel() + "\"}, \"value\": \"" + opt.getValue() + "\"}")
+                .collect(Collectors.joining(", "));
+        return "{\"options\": [" + optionsJson + "]}";
+    }
+
+    @Benchmark
+    public String typedOptions() {
+        return SlackJson.options(options);
+    }
+}
@@ -0,0 +1,109 @@
+package com.webflux.slack_bot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webflux.slack_bot.model.InteractionPayload;
+import com.webflux.slack_bot.service.IssueFields;
+import com.webflux.slack_bot.service.JiraClient;
+import com.webflux.slack_bot.service.JiraMetadata;
+import com.webflux.slack_bot.service.SuggestionCoordinator;
+import com.webflux.slack_bot.util.FormFieldInputStream;
+import com.webflux.slack_bot.util.SlackJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// The synchronous part of SlackInteractiveController.handleInteractive, step by step as the controller
+// does it: request body -> typed payload -> field extraction, for a view_submission and a recorded
+// block_suggestion, and the createJiraTicket body (IssueFields with its ADF description, then JSON).
+// Upstream calls are left out; the Jira search and components parsers are in JiraSearchParsingBenchmark,
+// views.open in ModalPayloadBenchmark and the options response in InteractionModelBenchmark.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InteractiveHotPathBenchmark {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+    private byte[] submissionBody;
+    private byte[] suggestionBody;
+    private JiraMetadata.Snapshot meta;
+    private String description;
+
+    @Setup
+    public void setup() throws Exception {
+        submissionBody = Fixtures.interactiveBody(Fixtures.viewSubmission(1024));
+        suggestionBody = Fixtures.interactiveBody(Fixtures.resource("block_suggestion.json"));
+        // Metadata loading disabled: the configured fallback, where every field counts as on the create screen
+        JiraClient jira = new JiraClient("default", WebClient.create(), "https://example.atlassian.net", "bot@example.com", "token",
+                "BDP", "BDP=Bot Demo Project (BDP),SCRUM=Jira Testing (SCRUM)", null, null);
+        meta = new JiraMetadata(null, false, Duration.ofMinutes(30), "New Feature,Bug,Task", "Highest,High,Medium,Low,Lowest",
+                "bug,feature,urgent", "customfield_10015", "Start date").snapshot(jira);
+        description = read(submissionBody).getView().value("description_block", "description", "");
+    }
+
+    private InteractionPayload read(byte[] body) throws Exception {
+        try (InputStream in = new FormFieldInputStream(bufferFactory.wrap(body).asInputStream(true), "payload")) {
+            return SlackJson.readPayload(in);
+        }
+    }
+
+    @Benchmark
+    public void viewSubmission(Blackhole bh) throws Exception {
+        InteractionPayload payload = read(submissionBody);
+        InteractionPayload.View view = payload.getView();
+        bh.consume(payload.getTeamId());
+        bh.consume(view.getCallbackId());
+        bh.consume(view.value("project_block", "project", "BDP"));
+        bh.consume(view.value("issue_type_block", "issue_type", "Bug"));
+        bh.consume(view.value("summary_block", "summary", ""));
+        bh.consume(view.value("description_block", "description", ""));
+        bh.consume(view.value("priority_block", "priority", "Medium"));
+        bh.consume(view.value("assignee_block", "assignee", ""));
+        bh.consume(view.value("parent_epic_block", "parent_epic", ""));
+        bh.consume(view.values("components_block", "components"));
+        bh.consume(view.value("labels_block", "labels", ""));
+        bh.consume(view.value("start_date_block", "start_date", ""));
+        bh.consume(view.value("due_date_block", "due_date", ""));
+    }
+
+    @Benchmark
+    public String blockSuggestion() throws Exception {
+        InteractionPayload payload = read(suggestionBody);
+        return SuggestionCoordinator.sessionKey(payload.getUserId(), payload.getView().getId(), payload.getActionId())
+                + payload.getValue();
+    }
+
+    @Benchmark
+    public String ticketPayload() throws Exception {
+        Map<String, Object> fields = new IssueFields(meta, "BDP", "Bug", "Login button does nothing on Safari")
+                .description(description)
+                .optional("priority", Map.of("name", "High"))
+                .optional("assignee", Map.of("accountId", "5b10a2844c20165700ede21g"))
+                .optional("parent", Map.of("key", "BDP-10"))
+                .optional("components", List.of("Backend", "Web").stream().map(c -> Map.of("name", c)).collect(Collectors.toList()))
+                .optional("labels", List.of("bug"))
+                .optional(meta.startDateField("BDP"), "2024-05-01")
+                .optional("duedate", "2024-05-10")
+                .build();
+        return objectMapper.writeValueAsString(Map.of("fields", fields));
+    }
+}
@@ -0,0 +1,65 @@
+package com.webflux.slack_bot.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webflux.slack_bot.util.FormFieldInputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// /slack/interactive body -> JsonNode: legacy String + URLDecoder + substring vs FormFieldInputStream over the buffer.
+// Run with -prof gc to compare allocation per request.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InteractivePayloadDecodingBenchmark {
+
+    @Param({"2048", "20480", "204800"})
+    public int descriptionBytes;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+    private byte[] body;
+
+    @Setup
+    public void setup() throws Exception {
+        String json = Fixtures.viewSubmission(descriptionBytes);
+        body = ("payload=" + URLEncoder.encode(json, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public JsonNode legacyUrlDecoder() throws Exception {
+        // @RequestBody String, URLDecoder.decode over the whole body, substring(8), readTree
+        String rawPayload = new String(body, StandardCharsets.UTF_8);
+        String decodedPayload = URLDecoder.decode(rawPayload, StandardCharsets.UTF_8.name());
+        String jsonString = decodedPayload.startsWith("payload=") ? decodedPayload.substring(8) : decodedPayload;
+        return objectMapper.readTree(jsonString);
+    }
+
+    @Benchmark
+    public JsonNode streamingFormField() throws Exception {
+        DataBuffer buffer = bufferFactory.wrap(body);
+        try (InputStream in = new FormFieldInputStream(buffer.asInputStream(true), "payload")) {
+            return objectMapper.readTree(in);
+        }
+    }
+}
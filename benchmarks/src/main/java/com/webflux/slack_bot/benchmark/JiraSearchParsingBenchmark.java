@@ -0,0 +1,77 @@
+package com.webflux.slack_bot.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webflux.slack_bot.model.Option;
+import com.webflux.slack_bot.util.StreamingOptionParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jira /search response -> Options: String + readTree (legacy) vs streaming extraction over DataBuffers.
+// Run with -prof gc to compare allocation per request.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JiraSearchParsingBenchmark {
+    private static final int CHUNK_SIZE = 8192; // Roughly what Reactor Netty hands over per read
+
+    @Param({"10", "50", "200"})
+    public int issues;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws Exception {
+        payload = Fixtures.jiraSearchResponse(issues).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Option> legacyReadTree() throws Exception {
+        // bodyToMono(String.class) + objectMapper.readTree, as in the pre-streaming controllers
+        String response = new String(payload, StandardCharsets.UTF_8);
+        List<Option> options = new ArrayList<>();
+        JsonNode json = objectMapper.readTree(response);
+        for (JsonNode issue : json.get("issues")) {
+            String key = issue.get("key").asText();
+            String summary = issue.get("fields").get("summary").asText();
+            options.add(new Option(summary + " (" + key + ")", key));
+        }
+        return options;
+    }
+
+    @Benchmark
+    public List<Option> streaming() {
+        return StreamingOptionParser.SEARCH_ISSUES.parse(chunks()).block();
+    }
+
+    private Flux<DataBuffer> chunks() {
+        List<DataBuffer> buffers = new ArrayList<>(payload.length / CHUNK_SIZE + 1);
+        for (int offset = 0; offset < payload.length; offset += CHUNK_SIZE) {
+            buffers.add(bufferFactory.wrap(ByteBuffer.wrap(payload, offset, Math.min(CHUNK_SIZE, payload.length - offset)).slice()));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
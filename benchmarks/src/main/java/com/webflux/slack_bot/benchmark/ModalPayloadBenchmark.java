@@ -0,0 +1,92 @@
+package com.webflux.slack_bot.benchmark;
+
+import com.webflux.slack_bot.model.Option;
+import com.webflux.slack_bot.service.JiraModalTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// views.open body: legacy per-request concatenation vs the precompiled JiraModalTemplate.
+// Run with -prof gc to compare allocation per op.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModalPayloadBenchmark {
+    private static final String TRIGGER_ID = "13345224609.738474920.8088930838d88f008e0";
+
+    private JiraModalTemplate template;
+    private JiraModalTemplate.Values values;
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    @Setup
+    public void setup() throws Exception {
+        template = new JiraModalTemplate(new ClassPathResource("slack/jira_ticket_modal.json"));
+        values = new JiraModalTemplate.Values(TRIGGER_ID, "jiratesting2612.atlassian.net",
+                List.of(new Option("Bot Demo Project (BDP)", "BDP"), new Option("Jira Testing (SCRUM)", "SCRUM")),
+                options("New Feature", "Bug", "Task"), options("Highest", "High", "Medium", "Low", "Lowest"),
+                options("bug", "feature", "urgent", "documentation", "enhancement"));
+    }
+
+    private static List<Option> options(String... names) {
+        return Arrays.stream(names).map(name -> new Option(name, name)).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] legacyConcatenation() {
+        // The String body is UTF-8 encoded by the WebClient's CharSequenceEncoder
+        return legacyBody(TRIGGER_ID).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int precompiledTemplate() {
+        DataBuffer buffer = template.write(bufferFactory, values);
+        int size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+
+    // Copy of the pre-template SlackCommandController.openJiraModal body building
+    static String legacyBody(String triggerId) {
+        String modalPayload = "{ \"type\": \"modal\", \"callback_id\": \"jira_ticket_modal\", \"title\": { \"type\": \"plain_text\", \"text\": \"Create JIRA Ticket\" }, \"submit\": { \"type\": \"plain_text\", \"text\": \"Submit\" }, \"blocks\": [ " +
+                "{ \"type\": \"section\", \"text\": { \"type\": \"plain_text\", \"text\": \"Issue is being created for jiratesting2612.atlassian.net\" } }, " +
+                "{ \"type\": \"input\", \"block_id\": \"project_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Project\" }, \"element\": { \"type\": \"static_select\", \"action_id\": \"project\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Which project would you like to create an issue in?\" }, \"options\": [ { \"text\": { \"type\": \"plain_text\", \"text\": \"Bot Demo Project (BDP)\" }, \"value\": \"BDP\" }, { \"text\": { \"type\": \"plain_text\", \"text\": \"Jira Testing (SCRUM)\" }, \"value\": \"SCRUM\" } ] } }, " +
+                "{ \"type\": \"input\", \"block_id\": \"issue_type_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Issue type\" }, \"element\": { \"type\": \"static_select\", \"action_id\": \"issue_type\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"What type of issue is it?\" }, \"options\": [ { \"text\": { \"type\": \"plain_text\", \"text\": \"New Feature\" }, \"value\": \"New Feature\" }, { \"text\": { \"type\": \"plain_text\", \"text\": \"Bug\" }, \"value\": \"Bug\" }, { \"text\": { \"type\": \"plain_text\", \"text\": \"Task\" }, \"value\": \"Task\" } ] } }, " +
+                "{ \"type\": \"input\", \"block_id\": \"summary_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Summary\" }, \"element\": { \"type\": \"plain_text_input\", \"action_id\": \"summary\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Write something\" } } }, " +
+                "{ \"type\": \"input\", \"block_id\": \"description_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Description (optional)\" }, \"optional\": true, \"element\": { \"type\": \"plain_text_input\", \"action_id\": \"description\", \"multiline\": true, \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Write something\" } } }, " +
+                "{ \"type\": \"input\", \"block_id\": \"assignee_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Assignee (optional)\" }, \"optional\": true, \"element\": { \"type\": \"users_select\", \"action_id\": \"assignee\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Pick an option\" } } }, " +
+                "{ \"type\": \"input\", \"block_id\": \"parent_epic_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Parent Epic (optional)\" }, \"optional\": true, \"element\": { \"type\": \"external_select\", \"action_id\": \"parent_epic\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Start typing to search and pick your option\" }, \"min_query_length\": 3 } }, " +
+                "{ \"type\": \"input\", \"block_id\": \"components_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Components (optional)\" }, \"optional\": true, \"element\": { \"type\": \"multi_external_select\", \"action_id\": \"components\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Pick your options\" }, \"min_query_length\": 0 } }, " +
+                "{ \"type\": \"input\", \"block_id\": \"priority_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Priority (optional)\" }, \"optional\": true, \"element\": { \"type\": \"static_select\", \"action_id\": \"priority\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Medium\" }, \"options\": [ { \"text\": { \"type\": \"plain_text\", \"text\": \"Highest\" }, \"value\": \"Highest\" }, { \"text\": { \"type\": \"plain_text\", \"text\": \"High\" }, \"value\": \"High\" }, { \"text\": { \"type\": \"plain_text\", \"text\": \"Medium\" }, \"value\": \"Medium\" }, { \"text\": { \"type\": \"plain_text\", \"text\": \"Low\" }, \"value\": \"Low\" }, { \"text\": { \"type\": \"plain_text\", \"text\": \"Lowest\" }, \"value\": \"Lowest\" } ] } }, " +
+                "{ \"type\": \"input\", \"block_id\": \"labels_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Labels (optional)\" }, \"optional\": true, \"element\": { \"type\": \"multi_static_select\", \"action_id\": \"labels\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Pick one or more labels\" }, \"options\": [ " +  // Changed to multi_static_select with hardcoded options
+                "{ \"text\": { \"type\": \"plain_text\", \"text\": \"bug\" }, \"value\": \"bug\" }, " +
+                "{ \"text\": { \"type\": \"plain_text\", \"text\": \"feature\" }, \"value\": \"feature\" }, " +
+                "{ \"text\": { \"type\": \"plain_text\", \"text\": \"urgent\" }, \"value\": \"urgent\" }, " +
+                "{ \"text\": { \"type\": \"plain_text\", \"text\": \"documentation\" }, \"value\": \"documentation\" }, " +
+                "{ \"text\": { \"type\": \"plain_text\", \"text\": \"enhancement\" }, \"value\": \"enhancement\" } " +
+                "] } }, " +
+                "{ \"type\": \"input\", \"block_id\": \"start_date_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Start date (optional)\" }, \"optional\": true, \"element\": { \"type\": \"datepicker\", \"action_id\": \"start_date\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Select a date\" } } }, " +
+                "{ \"type\": \"input\", \"block_id\": \"due_date_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Due date (optional)\" }, \"optional\": true, \"element\": { \"type\": \"datepicker\", \"action_id\": \"due_date\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Select a date\" } } } " +
+                "] }";
+        return "{\"trigger_id\": \"" + triggerId + "\", \"view\": " + modalPayload + "}";
+    }
+}
@@ -0,0 +1,80 @@
+package com.webflux.slack_bot.benchmark;
+
+import com.webflux.slack_bot.util.SlackSignature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// X-Slack-Signature check per request: body as String + new Mac + hex String vs SlackSignature over the
+// request's buffers (split into 8 KiB chunks, as Netty delivers them). Run with -prof gc for allocation.
+// 0 = a typeahead keystroke, larger sizes are view submissions with long descriptions.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignatureVerificationBenchmark {
+    private static final String SECRET = "8f742231b10e8888abcd99yyyzzz85a5";
+    private static final int CHUNK_BYTES = 8192;
+
+    @Param({"0", "2048", "20480"})
+    public int descriptionBytes;
+
+    private byte[] body;
+    private List<ByteBuffer> chunks;
+    private String timestamp;
+    private String signature;
+    private SlackSignature slackSignature;
+
+    @Setup
+    public void setup() throws Exception {
+        String payload = descriptionBytes == 0
+                ? "{\"type\":\"block_suggestion\",\"action_id\":\"parent_epic\",\"value\":\"bil\",\"user\":{\"id\":\"U1\"},\"team\":{\"id\":\"T1\"},\"view\":{\"id\":\"V1\"}}"
+                : Fixtures.viewSubmission(descriptionBytes);
+        body = ("payload=" + URLEncoder.encode(payload, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+        chunks = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += CHUNK_BYTES) {
+            chunks.add(ByteBuffer.wrap(body, offset, Math.min(CHUNK_BYTES, body.length - offset)).slice());
+        }
+        timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+        signature = naiveSignature(timestamp, new String(body, StandardCharsets.UTF_8));
+        slackSignature = new SlackSignature(SECRET);
+    }
+
+    @Benchmark
+    public boolean naive() throws Exception {
+        String expected = naiveSignature(timestamp, new String(body, StandardCharsets.UTF_8));
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), signature.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public boolean threadLocalMacOverBuffers() {
+        return slackSignature.verify(timestamp, signature, chunks);
+    }
+
+    private static String naiveSignature(String timestamp, String body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return "v0=" + HexFormat.of().formatHex(mac.doFinal(("v0:" + timestamp + ":" + body).getBytes(StandardCharsets.UTF_8)));
+    }
+}
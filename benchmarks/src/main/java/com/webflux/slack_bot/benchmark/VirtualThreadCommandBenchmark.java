@@ -0,0 +1,113 @@
+package com.webflux.slack_bot.benchmark;
+
+import com.webflux.slack_bot.config.BlockingExecution;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// A burst of N concurrent slash commands, each doing ~1 ms of blocking work (token store read, synchronous
+// logging) plus form decoding, run the way SlackCommandController can run them:
+//   eventLoop      - inline on the (event-loop sized) thread that received it, the default
+//   boundedElastic - Reactor's pool for blocking work (10 x cores platform threads)
+//   virtual        - BlockingExecution's virtual-thread scheduler (Java 21+ only; fails setup on older JVMs)
+// Reports the time per burst, plus the peak live thread count during the burst as the peakThreads secondary result.
+// Run on a Java 21 JVM: java -jar target/benchmarks.jar VirtualThreadCommand
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VirtualThreadCommandBenchmark {
+    private static final String FORM = "token=x&team_id=T0001&user_id=U0001&command=%2Fbotjira&text=create&trigger_id=123.456.abc";
+
+    @Param({"1000", "5000", "10000"})
+    public int commands;
+
+    @Param({"eventLoop", "boundedElastic", "virtual"})
+    public String mode;
+
+    private ExecutorService virtualExecutor;
+    private Scheduler scheduler;
+
+    // Secondary result: JMH reports the public fields of an @AuxCounters state next to the score
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Threads {
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        public long peakThreads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            peakThreads = 0;
+            threads.resetPeakThreadCount();
+        }
+
+        void record() {
+            peakThreads = threads.getPeakThreadCount();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (mode) {
+            case "eventLoop":
+                scheduler = Schedulers.newParallel("event-loop", Runtime.getRuntime().availableProcessors());
+                break;
+            case "boundedElastic":
+                scheduler = Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE, Integer.MAX_VALUE, "bounded-elastic");
+                break;
+            default:
+                virtualExecutor = BlockingExecution.newVirtualThreadExecutor("slack-vt-")
+                        .orElseThrow(() -> new IllegalStateException("virtual mode needs Java 21+"));
+                scheduler = Schedulers.fromExecutorService(virtualExecutor, "slack-vt");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scheduler.dispose();
+        if (virtualExecutor != null) virtualExecutor.shutdown();
+    }
+
+    @Benchmark
+    public long burst(Threads threads) {
+        long handled = Flux.range(0, commands)
+                .flatMap(i -> Mono.fromCallable(VirtualThreadCommandBenchmark::handleCommand).subscribeOn(scheduler), commands)
+                .count()
+                .block();
+        threads.record(); // SingleShotTime: one burst per iteration
+        return handled;
+    }
+
+    private static int handleCommand() throws InterruptedException {
+        int length = 0;
+        for (String pair : FORM.split("&")) {
+            length += URLDecoder.decode(pair, StandardCharsets.UTF_8).length();
+        }
+        Thread.sleep(1); // Stand-in for the blocking part of the handler
+        return length;
+    }
+}
@@ -0,0 +1,55 @@
+package com.webflux.slack_bot.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency (from the request's scheduled send time, so a stalled bot is not hidden by the driver slowing
+// down with it) and outcomes for one kind of Slack request. Slack gives up on an ack after 3 seconds, so
+// a slower answer, an error status or a transport failure all count as a missed deadline.
+final class EndpointStats {
+    static final Duration SLACK_DEADLINE = Duration.ofSeconds(3);
+    private static final long MAX_TRACKED_MICROS = Duration.ofMinutes(2).toNanos() / 1000;
+
+    private final Histogram micros = new ConcurrentHistogram(MAX_TRACKED_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder deadlineMisses = new LongAdder();
+
+    void record(long latencyNanos, boolean ok) {
+        long latencyMicros = Math.min(MAX_TRACKED_MICROS, Math.max(0, latencyNanos / 1000));
+        micros.recordValue(latencyMicros);
+        if (!ok) errors.increment();
+        if (!ok || latencyNanos > SLACK_DEADLINE.toNanos()) deadlineMisses.increment();
+    }
+
+    long requests() {
+        return micros.getTotalCount();
+    }
+
+    static void printHeader(PrintStream out) {
+        out.printf("%-12s %9s %10s %8s %9s %9s %9s %9s %10s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "missed 3s");
+    }
+
+    void print(PrintStream out, String endpoint, Duration measured) {
+        long requests = requests();
+        out.printf("%-12s %9d %10.1f %8d %9.1f %9.1f %9.1f %9.1f %9.2f%%%n",
+                endpoint, requests, requests / (measured.toMillis() / 1000.0), errors.sum(),
+                millis(micros.getValueAtPercentile(50)), millis(micros.getValueAtPercentile(99)),
+                millis(micros.getValueAtPercentile(99.9)), millis(micros.getMaxValue()),
+                requests == 0 ? 0.0 : 100.0 * deadlineMisses.sum() / requests);
+    }
+
+    static void printAll(PrintStream out, Map<String, EndpointStats> stats, Duration measured) {
+        printHeader(out);
+        stats.forEach((endpoint, endpointStats) -> endpointStats.print(out, endpoint, measured));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,73 @@
+package com.webflux.slack_bot.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+// How a stand-in answers: log-normal latency fitted to a median and p99, and a fraction of requests
+// failed with an error status (e.g. 503, or 429 with Retry-After: 1).
+// Spec: "median=40ms,p99=400ms,errors=0.01,status=503"; every key is optional.
+final class LatencyProfile {
+    private static final double Z_99 = 2.326; // Standard normal 99th percentile
+
+    final Duration median;
+    final Duration p99;
+    final double errorRate;
+    final int errorStatus;
+    private final double sigma;
+
+    LatencyProfile(Duration median, Duration p99, double errorRate, int errorStatus) {
+        if (p99.compareTo(median) < 0) throw new IllegalArgumentException("p99 " + p99 + " is below the median " + median);
+        this.median = median;
+        this.p99 = p99;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.sigma = median.isZero() ? 0 : Math.log((double) p99.toNanos() / median.toNanos()) / Z_99;
+    }
+
+    static LatencyProfile parse(String spec) {
+        Duration median = Duration.ofMillis(20);
+        Duration p99 = null;
+        double errorRate = 0;
+        int errorStatus = 503;
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) continue;
+            String[] parts = entry.split("=", 2);
+            if (parts.length != 2) throw new IllegalArgumentException("Expected key=value in latency profile: " + entry);
+            String value = parts[1].trim();
+            switch (parts[0].trim()) {
+                case "median":
+                    median = DurationStyle.detectAndParse(value);
+                    break;
+                case "p99":
+                    p99 = DurationStyle.detectAndParse(value);
+                    break;
+                case "errors":
+                    errorRate = Double.parseDouble(value);
+                    break;
+                case "status":
+                    errorStatus = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown latency profile key: " + parts[0]);
+            }
+        }
+        return new LatencyProfile(median, p99 == null ? median.multipliedBy(5) : p99, errorRate, errorStatus);
+    }
+
+    Duration nextDelay() {
+        if (median.isZero()) return Duration.ZERO;
+        double factor = Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+        return Duration.ofNanos((long) (median.toNanos() * factor));
+    }
+
+    boolean nextFails() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    @Override
+    public String toString() {
+        return "median=" + median.toMillis() + "ms,p99=" + p99.toMillis() + "ms,errors=" + errorRate + ",status=" + errorStatus;
+    }
+}
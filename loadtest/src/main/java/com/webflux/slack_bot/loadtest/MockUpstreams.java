@@ -0,0 +1,122 @@
+package com.webflux.slack_bot.loadtest;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+// Local stand-ins for the Slack Web API and Jira Cloud REST endpoints the bot calls, each on its own
+// ephemeral port. Every answer is delayed and sometimes failed per the upstream's LatencyProfile;
+// anything not listed here (e.g. createmeta) is a 404, which the bot already tolerates.
+final class MockUpstreams implements AutoCloseable {
+    private static final String EPICS;
+    private static final String COMPONENTS;
+
+    static {
+        StringBuilder epics = new StringBuilder("{\"startAt\":0,\"maxResults\":10,\"total\":10,\"issues\":[");
+        StringBuilder components = new StringBuilder("[");
+        for (int i = 0; i < 10; i++) {
+            if (i > 0) {
+                epics.append(',');
+                components.append(',');
+            }
+            epics.append("{\"id\":\"").append(10100 + i).append("\",\"key\":\"BDP-").append(100 + i)
+                    .append("\",\"fields\":{\"summary\":\"Onboarding improvements, phase ").append(i).append("\"}}");
+            components.append("{\"id\":\"").append(10000 + i).append("\",\"name\":\"Component ").append(i)
+                    .append("\",\"project\":\"BDP\",\"projectId\":10001}");
+        }
+        EPICS = epics.append("]}").toString();
+        COMPONENTS = components.append("]").toString();
+    }
+
+    private final LatencyProfile slackProfile;
+    private final LatencyProfile jiraProfile;
+    private final AtomicLong issueKeys = new AtomicLong(1000);
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final DisposableServer slack;
+    private final DisposableServer jira;
+
+    MockUpstreams(LatencyProfile slackProfile, LatencyProfile jiraProfile) {
+        this.slackProfile = slackProfile;
+        this.jiraProfile = jiraProfile;
+        this.slack = HttpServer.create().host("127.0.0.1").port(0)
+                .route(routes -> routes
+                        .post("/views.open", slack("views.open", () -> "{\"ok\":true,\"view\":{\"id\":\"V0001\"}}"))
+                        .post("/views.update", slack("views.update", () -> "{\"ok\":true}"))
+                        .post("/chat.postMessage", slack("chat.postMessage", () -> "{\"ok\":true}"))
+                        .post("/users.info", slack("users.info",
+                                () -> "{\"ok\":true,\"user\":{\"id\":\"U0002\",\"profile\":{\"email\":\"dev@example.com\"}}}")))
+                .bindNow();
+        this.jira = HttpServer.create().host("127.0.0.1").port(0)
+                .route(routes -> routes
+                        .post("/rest/api/3/search", jira("search", () -> EPICS))
+                        .post("/rest/api/3/issue", jira("issue", () -> {
+                            long id = issueKeys.incrementAndGet();
+                            return "{\"id\":\"" + id + "\",\"key\":\"BDP-" + id + "\",\"self\":\"" + jiraUrl() + "/rest/api/3/issue/" + id + "\"}";
+                        }))
+                        .get("/rest/api/3/user/search", jira("user/search",
+                                () -> "[{\"accountId\":\"5b10a2844c20165700ede21g\",\"emailAddress\":\"dev@example.com\"}]"))
+                        .get("/rest/api/3/project/{key}/components", jira("project/components", () -> COMPONENTS)))
+                .bindNow();
+    }
+
+    String slackUrl() {
+        return "http://127.0.0.1:" + slack.port();
+    }
+
+    String jiraUrl() {
+        return "http://127.0.0.1:" + jira.port();
+    }
+
+    // Calls served per "<upstream> <endpoint>", including failed ones
+    Map<String, Long> calls() {
+        Map<String, Long> counts = new TreeMap<>();
+        calls.forEach((name, count) -> counts.put(name, count.sum()));
+        return counts;
+    }
+
+    private BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> slack(String name, Supplier<String> body) {
+        return handler("slack " + name, slackProfile, body);
+    }
+
+    private BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> jira(String name, Supplier<String> body) {
+        return handler("jira " + name, jiraProfile, body);
+    }
+
+    private BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> handler(String name, LatencyProfile profile, Supplier<String> body) {
+        LongAdder count = calls.computeIfAbsent(name, n -> new LongAdder());
+        return (request, response) -> {
+            count.increment();
+            boolean fail = profile.nextFails();
+            return request.receive().then()
+                    .then(Mono.delay(profile.nextDelay()))
+                    .then(Mono.defer(() -> {
+                        if (fail) {
+                            response.status(HttpResponseStatus.valueOf(profile.errorStatus));
+                            if (profile.errorStatus == 429) response.header(HttpHeaderNames.RETRY_AFTER, "1");
+                            return response.send().then();
+                        }
+                        return response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                                .sendString(Mono.just(body.get())).then();
+                    }));
+        };
+    }
+
+    @Override
+    public void close() {
+        slack.disposeNow();
+        jira.disposeNow();
+    }
+}
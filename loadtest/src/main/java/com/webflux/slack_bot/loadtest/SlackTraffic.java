@@ -0,0 +1,80 @@
+package com.webflux.slack_bot.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Request bodies as Slack sends them for /botjira: the slash command, block_suggestion keystrokes in the
+// epic and component selects, and jira_ticket_modal view_submissions. Each submission has its own view
+// and summary so SubmissionDeduplicator sees them as distinct.
+final class SlackTraffic {
+    static final List<String> WORDS = List.of("onboarding", "billing", "search", "login", "export", "backend", "mobile", "alerts");
+
+    private final int teams;
+    private final AtomicLong sequence = new AtomicLong();
+
+    SlackTraffic(int teams) {
+        this.teams = teams;
+    }
+
+    static String teamId(int index) {
+        return "T" + (1000 + index);
+    }
+
+    String randomTeam() {
+        return teamId(ThreadLocalRandom.current().nextInt(teams));
+    }
+
+    static String userId(long n) {
+        return "U" + (10000 + n % 5000);
+    }
+
+    String command(String teamId) {
+        long n = sequence.incrementAndGet();
+        return "token=verification-token&team_id=" + teamId + "&team_domain=example&channel_id=C0001&channel_name=general"
+                + "&user_id=" + userId(n) + "&user_name=dev&command=%2Fbotjira&text=create"
+                + "&api_app_id=A0001&trigger_id=" + n + ".1234567890.abcdef";
+    }
+
+    // A new modal session; its keystrokes share the view id so a newer one supersedes the older lookup
+    String newViewId() {
+        return "V" + sequence.incrementAndGet();
+    }
+
+    String suggestion(String teamId, String viewId, String actionId, String query) {
+        String userId = userId(viewId.hashCode() & 0xffff);
+        return form("{\"type\":\"block_suggestion\",\"user\":{\"id\":\"" + userId + "\",\"team_id\":\"" + teamId + "\"},"
+                + "\"container\":{\"type\":\"view\",\"view_id\":\"" + viewId + "\"},\"api_app_id\":\"A0001\","
+                + "\"action_id\":\"" + actionId + "\",\"block_id\":\"" + actionId + "_block\",\"value\":\"" + query + "\","
+                + "\"team\":{\"id\":\"" + teamId + "\",\"domain\":\"example\"},"
+                + "\"view\":{\"id\":\"" + viewId + "\",\"team_id\":\"" + teamId + "\",\"type\":\"modal\",\"callback_id\":\"jira_ticket_modal\","
+                + "\"state\":{\"values\":{\"project_block\":{\"project\":{\"type\":\"static_select\",\"selected_option\":"
+                + "{\"text\":{\"type\":\"plain_text\",\"text\":\"Bot Demo Project (BDP)\"},\"value\":\"BDP\"}}}}},"
+                + "\"hash\":\"1700000000.abcd\"}}");
+    }
+
+    String submission(String teamId) {
+        long n = sequence.incrementAndGet();
+        return form("{\"type\":\"view_submission\",\"team\":{\"id\":\"" + teamId + "\",\"domain\":\"example\"},"
+                + "\"user\":{\"id\":\"" + userId(n) + "\",\"team_id\":\"" + teamId + "\"},\"api_app_id\":\"A0001\","
+                + "\"trigger_id\":\"" + n + ".1234567890.abcdef\","
+                + "\"view\":{\"id\":\"VS" + n + "\",\"team_id\":\"" + teamId + "\",\"type\":\"modal\",\"callback_id\":\"jira_ticket_modal\","
+                + "\"hash\":\"1700000000.abcd\",\"private_metadata\":\"\",\"state\":{\"values\":{"
+                + "\"project_block\":{\"project\":{\"type\":\"static_select\",\"selected_option\":{\"text\":{\"type\":\"plain_text\",\"text\":\"Bot Demo Project (BDP)\"},\"value\":\"BDP\"}}},"
+                + "\"issue_type_block\":{\"issue_type\":{\"type\":\"static_select\",\"selected_option\":{\"text\":{\"type\":\"plain_text\",\"text\":\"Bug\"},\"value\":\"Bug\"}}},"
+                + "\"summary_block\":{\"summary\":{\"type\":\"plain_text_input\",\"value\":\"Load test issue " + n + "\"}},"
+                + "\"description_block\":{\"description\":{\"type\":\"plain_text_input\",\"value\":\"Steps to reproduce: open the modal and submit.\"}},"
+                + "\"assignee_block\":{\"assignee\":{\"type\":\"users_select\",\"selected_user\":\"U0002\"}},"
+                + "\"parent_epic_block\":{\"parent_epic\":{\"type\":\"external_select\",\"selected_option\":{\"text\":{\"type\":\"plain_text\",\"text\":\"Onboarding (BDP-100)\"},\"value\":\"BDP-100\"}}},"
+                + "\"components_block\":{\"components\":{\"type\":\"multi_external_select\",\"selected_options\":[{\"text\":{\"type\":\"plain_text\",\"text\":\"Component 1\"},\"value\":\"Component 1\"}]}},"
+                + "\"priority_block\":{\"priority\":{\"type\":\"static_select\",\"selected_option\":{\"text\":{\"type\":\"plain_text\",\"text\":\"High\"},\"value\":\"High\"}}},"
+                + "\"due_date_block\":{\"due_date\":{\"type\":\"datepicker\",\"selected_date\":\"2024-05-10\"}}"
+                + "}}}}");
+    }
+
+    private static String form(String payloadJson) {
+        return "payload=" + URLEncoder.encode(payloadJson, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,69 @@
+package com.webflux.slack_bot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Where blocking handler work (form handling, synchronous JSON, JUL logging) and fire-and-forget jobs
+// such as opening the modal run. With slack.virtual-threads.enabled=true on Java 21+ each task gets its
+// own virtual thread, so the event loop is never held and no platform thread pool has to be sized for it.
+// Otherwise (the default, or on an older JVM) work stays on the calling thread as before.
+// The build still targets Java 17 (see the java21 profile), so the Java 21 API is looked up reflectively.
+@Component
+public class BlockingExecution {
+    private static final Logger LOGGER = Logger.getLogger(BlockingExecution.class.getName());
+
+    private final ExecutorService executor; // null unless running on virtual threads
+    private final Scheduler scheduler;
+
+    public BlockingExecution(@Value("${slack.virtual-threads.enabled:false}") boolean enabled) {
+        Optional<ExecutorService> virtual = enabled ? newVirtualThreadExecutor("slack-vt-") : Optional.empty();
+        if (enabled && virtual.isEmpty()) {
+            LOGGER.log(Level.WARNING, "slack.virtual-threads.enabled needs Java 21+ (running {0}); using the calling thread",
+                    System.getProperty("java.version"));
+        }
+        this.executor = virtual.orElse(null);
+        this.scheduler = executor != null ? Schedulers.fromExecutorService(executor, "slack-vt") : Schedulers.immediate();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            scheduler.dispose();
+            executor.shutdown();
+        }
+    }
+
+    // subscribeOn/publishOn target for blocking work
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    public boolean virtual() {
+        return executor != null;
+    }
+
+    // Thread-per-task executor of named virtual threads; empty before Java 21
+    public static Optional<ExecutorService> newVirtualThreadExecutor(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            Method perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return Optional.of((ExecutorService) perTask.invoke(null, factory));
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+}
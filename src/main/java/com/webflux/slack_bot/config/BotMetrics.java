@@ -0,0 +1,206 @@
+package com.webflux.slack_bot.config;
+
+import com.webflux.slack_bot.service.JiraAccountIdCache;
+import com.webflux.slack_bot.service.JiraTenants;
+import com.webflux.slack_bot.service.SubmissionDeduplicator;
+import com.webflux.slack_bot.service.SubmissionQueue;
+import com.webflux.slack_bot.service.SuggestionCoordinator;
+import com.webflux.slack_bot.util.Bulkhead;
+import com.webflux.slack_bot.util.TokenStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+// Publishes the in-process Stats snapshots as Micrometer meters (scraped at /actuator/prometheus)
+// and times each Slack interaction by type and action_id. HTTP timings come from Spring Boot:
+// http.server.requests per endpoint, http.client.requests per upstream uri template and status.
+// Upstreams, pools and tenant bulkheads come and go, so their meters are synced on an interval.
+@Component
+public class BotMetrics {
+    private static final int MAX_ACTIONS = 50; // action_id comes from the payload; cap the tag's cardinality
+
+    private final MeterRegistry registry;
+    private final UpstreamClients upstreamClients;
+    private final JiraTenants jiraTenants;
+    private final SubmissionQueue submissionQueue;
+    private final SubmissionDeduplicator deduplicator;
+    private final JiraAccountIdCache accountIdCache;
+    private final SuggestionCoordinator suggestionCoordinator;
+    private final Duration refreshInterval;
+    private final Map<String, List<Meter>> dynamic = new ConcurrentHashMap<>();
+    private Disposable refresher;
+
+    public BotMetrics(MeterRegistry registry, UpstreamClients upstreamClients, JiraTenants jiraTenants,
+                      SubmissionQueue submissionQueue, SubmissionDeduplicator deduplicator, JiraAccountIdCache accountIdCache, SuggestionCoordinator suggestionCoordinator,
+                      @Value("${metrics.refresh-interval:15s}") Duration refreshInterval) {
+        this.registry = registry;
+        this.upstreamClients = upstreamClients;
+        this.jiraTenants = jiraTenants;
+        this.submissionQueue = submissionQueue;
+        this.deduplicator = deduplicator;
+        this.accountIdCache = accountIdCache;
+        this.suggestionCoordinator = suggestionCoordinator;
+        this.refreshInterval = refreshInterval;
+        registry.config().meterFilter(MeterFilter.maximumAllowableTags("slack.interaction", "action", MAX_ACTIONS, MeterFilter.deny()));
+    }
+
+    @PostConstruct
+    void start() {
+        bindSubmissionQueue();
+        bindAccountIdCache();
+        bindSuggestions();
+        Gauge.builder("slack.tokens", TokenStore::size).description("Workspaces with a bot token").register(registry);
+        Gauge.builder("jira.tenants.active", jiraTenants, JiraTenants::activeTenants).register(registry);
+        refresher = Flux.interval(Duration.ZERO, refreshInterval).subscribe(tick -> syncDynamic());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refresher != null) refresher.dispose();
+    }
+
+    // Records slack.interaction{type, action, outcome} around the handler's response
+    public <T> Mono<T> timeInteraction(String type, String action, Mono<T> response) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return response.doFinally(signal -> sample.stop(Timer.builder("slack.interaction")
+                    .tag("type", type.isEmpty() ? "unknown" : type)
+                    .tag("action", action.isEmpty() ? "none" : action)
+                    .tag("outcome", signal == SignalType.ON_ERROR ? "error" : signal == SignalType.CANCEL ? "cancelled" : "success")
+                    .register(registry)));
+        });
+    }
+
+    private void bindSubmissionQueue() {
+        Gauge.builder("slack.submission.queue.depth", () -> submissionQueue.stats().depth).register(registry);
+        Gauge.builder("slack.submission.running", () -> submissionQueue.stats().running).register(registry);
+        counter("slack.submission.jobs", Tags.of("result", "submitted"), () -> submissionQueue.stats().submitted);
+        counter("slack.submission.jobs", Tags.of("result", "rejected"), () -> submissionQueue.stats().rejected);
+        counter("slack.submission.jobs", Tags.of("result", "completed"), () -> submissionQueue.stats().completed);
+        counter("slack.submission.jobs", Tags.of("result", "failed"), () -> submissionQueue.stats().failed);
+        FunctionTimer.builder("slack.submission.wait", submissionQueue,
+                        queue -> queue.stats().running + queue.stats().completed + queue.stats().failed,
+                        queue -> queue.stats().queueWaitNanos, TimeUnit.NANOSECONDS)
+                .register(registry);
+        FunctionTimer.builder("slack.submission.processing", submissionQueue,
+                        queue -> queue.stats().completed + queue.stats().failed,
+                        queue -> queue.stats().processingNanos, TimeUnit.NANOSECONDS)
+                .register(registry);
+        counter("slack.submission.dedup", Tags.of("result", "created"), () -> deduplicator.stats().created);
+        counter("slack.submission.dedup", Tags.of("result", "attached"), () -> deduplicator.stats().attached);
+        counter("slack.submission.dedup", Tags.of("result", "replayed"), () -> deduplicator.stats().replayed);
+        Gauge.builder("slack.submission.dedup.size", () -> deduplicator.stats().size).register(registry);
+    }
+
+    // Same names as Micrometer's own cache binders, so stock cache dashboards work
+    private void bindAccountIdCache() {
+        Tags tags = Tags.of("cache", "jira-account-id");
+        Gauge.builder("cache.size", () -> accountIdCache.stats().size).tags(tags).register(registry);
+        counter("cache.gets", tags.and("result", "hit"), () -> accountIdCache.stats().hits);
+        counter("cache.gets", tags.and("result", "negative_hit"), () -> accountIdCache.stats().negativeHits);
+        counter("cache.gets", tags.and("result", "miss"), () -> accountIdCache.stats().misses);
+        counter("cache.gets", tags.and("result", "coalesced"), () -> accountIdCache.stats().coalesced);
+        counter("cache.evictions", tags, () -> accountIdCache.stats().evictions);
+        counter("cache.load.failures", tags, () -> accountIdCache.stats().loadFailures);
+        FunctionTimer.builder("cache.load", accountIdCache, cache -> cache.stats().loads, cache -> cache.stats().loadTimeNanos, TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .register(registry);
+    }
+
+    private void bindSuggestions() {
+        counter("slack.suggestions", Tags.of("result", "fetched"), () -> suggestionCoordinator.stats().fetched);
+        counter("slack.suggestions", Tags.of("result", "coalesced"), () -> suggestionCoordinator.stats().coalesced);
+        counter("slack.suggestions", Tags.of("result", "reused"), () -> suggestionCoordinator.stats().reused);
+        counter("slack.suggestions", Tags.of("result", "superseded"), () -> suggestionCoordinator.stats().superseded);
+    }
+
+    void syncDynamic() {
+        sync("rate-limit", upstreamClients.rateLimitStats().keySet(), this::rateLimitMeters);
+        sync("pool", upstreamClients.poolStats().keySet(), this::poolMeters);
+        sync("bulkhead", jiraTenants.bulkheadStats().keySet(), this::bulkheadMeters);
+    }
+
+    // Registers meters for new keys and removes those of keys that disappeared (released pools, idle tenants)
+    private void sync(String group, Set<String> keys, Function<String, List<Meter>> meters) {
+        String prefix = group + "|";
+        keys.forEach(key -> dynamic.computeIfAbsent(prefix + key, k -> meters.apply(key)));
+        dynamic.entrySet().removeIf(entry -> {
+            if (!entry.getKey().startsWith(prefix) || keys.contains(entry.getKey().substring(prefix.length()))) return false;
+            entry.getValue().forEach(registry::remove);
+            return true;
+        });
+    }
+
+    private List<Meter> rateLimitMeters(String upstream) {
+        Supplier<RateLimitFilter.Stats> stats = () -> upstreamClients.rateLimitStats().get(upstream);
+        Tags tags = Tags.of("upstream", upstream);
+        return List.of(
+                counter("upstream.rate.limit", tags.and("result", "throttled"), () -> valueOr(stats.get(), s -> s.throttled)),
+                counter("upstream.rate.limit", tags.and("result", "delayed"), () -> valueOr(stats.get(), s -> s.delayed)),
+                counter("upstream.rate.limit", tags.and("result", "retried"), () -> valueOr(stats.get(), s -> s.retried)),
+                counter("upstream.rate.limit", tags.and("result", "shed"), () -> valueOr(stats.get(), s -> s.shed)));
+    }
+
+    // Pool keys are "<upstream> <remote address>"
+    private List<Meter> poolMeters(String key) {
+        Supplier<UpstreamClients.PoolStats> stats = () -> upstreamClients.poolStats().get(key);
+        int space = key.indexOf(' ');
+        Tags tags = Tags.of("upstream", key.substring(0, space), "remote", key.substring(space + 1));
+        return List.of(
+                gauge("upstream.pool.connections", tags.and("state", "active"), () -> valueOr(stats.get(), s -> s.active)),
+                gauge("upstream.pool.connections", tags.and("state", "idle"), () -> valueOr(stats.get(), s -> s.idle)),
+                gauge("upstream.pool.pending", tags, () -> valueOr(stats.get(), s -> s.pending)),
+                gauge("upstream.pool.max", tags, () -> valueOr(stats.get(), s -> s.maxAllocated)));
+    }
+
+    // Bulkhead keys are "<tenant>/<kind>"
+    private List<Meter> bulkheadMeters(String key) {
+        Supplier<Bulkhead.Stats> stats = () -> jiraTenants.bulkheadStats().get(key);
+        int slash = key.lastIndexOf('/');
+        Tags tags = Tags.of("tenant", key.substring(0, slash), "kind", key.substring(slash + 1));
+        return List.of(
+                gauge("jira.bulkhead.active", tags, () -> valueOr(stats.get(), s -> s.active)),
+                gauge("jira.bulkhead.waiting", tags, () -> valueOr(stats.get(), s -> s.waiting)),
+                gauge("jira.bulkhead.saturation", tags, () -> valueOr(stats.get(), Bulkhead.Stats::saturation)),
+                gauge("jira.circuit.state", tags, () -> valueOr(stats.get(), s -> s.state.ordinal())), // 0 closed, 1 open, 2 half-open
+                counter("jira.bulkhead.rejected", tags.and("reason", "full"), () -> valueOr(stats.get(), s -> s.rejected)),
+                counter("jira.bulkhead.rejected", tags.and("reason", "circuit_open"), () -> valueOr(stats.get(), s -> s.shortCircuited)));
+    }
+
+    private Meter counter(String name, Tags tags, Supplier<Number> value) {
+        // The counter holds its state object weakly, so hang it off this bean and keep the supplier in the function
+        return FunctionCounter.builder(name, this, metrics -> value.get().doubleValue()).tags(tags).register(registry);
+    }
+
+    private Meter gauge(String name, Tags tags, Supplier<Number> value) {
+        return Gauge.builder(name, value).tags(tags).register(registry);
+    }
+
+    // Keys can vanish between sync and scrape
+    private static <S> Number valueOr(S stats, ToDoubleFunction<S> value) {
+        return stats == null ? Double.NaN : value.applyAsDouble(stats);
+    }
+}
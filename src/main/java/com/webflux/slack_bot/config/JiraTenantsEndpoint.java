@@ -0,0 +1,55 @@
+package com.webflux.slack_bot.config;
+
+import com.webflux.slack_bot.service.JiraTenants;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Runtime updates of Jira sites, so credentials can be rotated without a restart:
+//   POST /actuator/jiratenants/{teamId} {"email": ..., "apiToken": ...}         rotates in place ("default" = the jira.* site)
+//   POST /actuator/jiratenants/{teamId} {..., "baseUrl": ...[, "projectKey", "projects"]}  moves a workspace to another site
+// Not exposed unless listed in management.endpoints.web.exposure.include; keep it on an internal management port.
+@Component
+@Endpoint(id = "jiratenants")
+public class JiraTenantsEndpoint {
+    private static final Logger LOGGER = Logger.getLogger(JiraTenantsEndpoint.class.getName());
+
+    private final JiraTenants jiraTenants;
+
+    public JiraTenantsEndpoint(JiraTenants jiraTenants) {
+        this.jiraTenants = jiraTenants;
+    }
+
+    // 404 when the workspace has no Jira site of its own to rotate
+    @WriteOperation
+    public WebEndpointResponse<Map<String, String>> update(@Selector String teamId, String email, String apiToken,
+                                      @Nullable String baseUrl, @Nullable String projectKey, @Nullable String projects) {
+        if (email.isBlank() || apiToken.isBlank()) {
+            throw new InvalidEndpointRequestException("email and apiToken are required", "Missing Jira credentials");
+        }
+        if (baseUrl == null) {
+            if (!jiraTenants.rotateCredentials(teamId, email, apiToken)) {
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+            LOGGER.log(Level.INFO, "Rotated Jira credentials for tenant {0}", teamId);
+            return new WebEndpointResponse<>(Map.of("teamId", teamId, "updated", "credentials"));
+        }
+        if (JiraTenants.DEFAULT.equals(teamId)) {
+            throw new InvalidEndpointRequestException("The default site's base URL is fixed by jira.base-url", "Cannot move the default site");
+        }
+        // Unset project settings fall back to the default site's, like jira.tenants.<teamId>.* does
+        jiraTenants.register(teamId, baseUrl, email, apiToken,
+                projectKey == null ? jiraTenants.defaultClient().projectKey() : projectKey,
+                projects == null ? jiraTenants.defaultClient().projects() : projects);
+        LOGGER.log(Level.INFO, "Registered Jira site {0} for tenant {1}", new Object[]{baseUrl, teamId});
+        return new WebEndpointResponse<>(Map.of("teamId", teamId, "updated", "site"));
+    }
+}
@@ -0,0 +1,194 @@
+package com.webflux.slack_bot.config;
+
+import com.webflux.slack_bot.util.TokenBucket;
+import com.webflux.slack_bot.util.TokenBucket.Priority;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Client-side rate limiting and retries for one upstream.
+// Each (method tier, credential) pair gets an adaptive TokenBucket. Requests carry a priority
+// (attribute PRIORITY) and a deadline budget; 429s pause the bucket for Retry-After and are retried,
+// 5xx/connection errors are retried only for idempotent calls, all with jittered exponential backoff.
+public class RateLimitFilter implements ExchangeFilterFunction {
+    private static final Logger LOGGER = Logger.getLogger(RateLimitFilter.class.getName());
+
+    public static final String PRIORITY = RateLimitFilter.class.getName() + ".priority";
+    public static final String IDEMPOTENT = RateLimitFilter.class.getName() + ".idempotent";
+    public static final String DEADLINE = RateLimitFilter.class.getName() + ".deadline";
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final String name;
+    private final Function<ClientRequest, String> tierOf;
+    private final Function<String, TokenBucket> bucketFactory;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final int maxRetries;
+    private final Duration backoff;
+    private final Duration deadline;
+
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    // bucketFactory gets the tier name and builds that tier's bucket
+    public RateLimitFilter(String name, Function<ClientRequest, String> tierOf, Function<String, TokenBucket> bucketFactory,
+                           int maxRetries, Duration backoff, Duration deadline) {
+        this.name = name;
+        this.tierOf = tierOf;
+        this.bucketFactory = bucketFactory;
+        this.maxRetries = maxRetries;
+        this.backoff = backoff;
+        this.deadline = deadline;
+    }
+
+    // Slack publishes per-method tiers, enforced per workspace token
+    public static String slackTier(ClientRequest request) {
+        String path = request.url().getPath();
+        String method = path.substring(path.lastIndexOf('/') + 1);
+        if (method.startsWith("views.") || method.equals("users.info")) return "tier4";
+        if (method.equals("chat.postMessage")) return "chat";
+        return "default";
+    }
+
+    // Jira Cloud budgets reads and writes separately
+    public static String jiraTier(ClientRequest request) {
+        boolean read = request.method() == HttpMethod.GET || request.url().getPath().endsWith("/search");
+        return read ? "read" : "write";
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Priority priority = request.attribute(PRIORITY).map(Priority.class::cast).orElse(Priority.NORMAL);
+        boolean idempotent = request.attribute(IDEMPOTENT).map(Boolean.class::cast)
+                .orElse(request.method() == HttpMethod.GET || request.method() == HttpMethod.HEAD);
+        long deadlineAt = System.nanoTime() + request.attribute(DEADLINE).map(Duration.class::cast).orElse(deadline).toNanos();
+        // One bucket per tier and credential (Slack limits are per workspace token)
+        String credential = request.headers().getFirst(HttpHeaders.AUTHORIZATION);
+        String tier = tierOf.apply(request);
+        String key = credential == null ? tier : tier + "|" + Integer.toHexString(credential.hashCode());
+        TokenBucket bucket = buckets.computeIfAbsent(key, k -> bucketFactory.apply(tier));
+        return Mono.defer(() -> attempt(request, next, bucket, tier, priority, idempotent, deadlineAt, 0));
+    }
+
+    public Stats stats() {
+        return new Stats(buckets.size(), throttled.sum(), delayed.sum(), retried.sum(), shed.sum());
+    }
+
+    private Mono<ClientResponse> attempt(ClientRequest request, ExchangeFunction next, TokenBucket bucket, String tier,
+                                         Priority priority, boolean idempotent, long deadlineAt, int attempt) {
+        long now = System.nanoTime();
+        long wait = bucket.acquire(priority, now, deadlineAt - now);
+        if (wait < 0) {
+            shed.increment();
+            return Mono.error(new RateLimitedException(name + " " + tier + " rate limit reached; " + priority + " "
+                    + request.method() + " " + request.url().getPath() + " shed"));
+        }
+        Mono<ClientResponse> exchange = next.exchange(request);
+        if (wait > 0) {
+            delayed.increment();
+            exchange = Mono.delay(Duration.ofNanos(wait)).then(exchange);
+        }
+        return exchange
+                .onErrorResume(WebClientRequestException.class, e -> {
+                    long delay = backoff(attempt, 0);
+                    if (!idempotent || !canRetry(attempt, delay, deadlineAt)) return Mono.error(e);
+                    return retry(request, next, bucket, tier, priority, idempotent, deadlineAt, attempt, delay, e.getMessage());
+                })
+                .flatMap(response -> {
+                    int status = response.rawStatusCode();
+                    if (status == 429) {
+                        // Throttled requests were not processed, so even non-idempotent calls can be resent
+                        throttled.increment();
+                        long retryAfter = retryAfterNanos(response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+                        bucket.onThrottled(retryAfter, System.nanoTime());
+                        long delay = backoff(attempt, retryAfter);
+                        if (!canRetry(attempt, delay, deadlineAt)) return Mono.just(response);
+                        return response.releaseBody()
+                                .then(retry(request, next, bucket, tier, priority, idempotent, deadlineAt, attempt, delay, "429"));
+                    }
+                    if (idempotent && (status == 502 || status == 503 || status == 504)) {
+                        long delay = backoff(attempt, 0);
+                        if (!canRetry(attempt, delay, deadlineAt)) return Mono.just(response);
+                        return response.releaseBody()
+                                .then(retry(request, next, bucket, tier, priority, idempotent, deadlineAt, attempt, delay, String.valueOf(status)));
+                    }
+                    bucket.onSuccess();
+                    return Mono.just(response);
+                });
+    }
+
+    private Mono<ClientResponse> retry(ClientRequest request, ExchangeFunction next, TokenBucket bucket, String tier, Priority priority,
+                                       boolean idempotent, long deadlineAt, int attempt, long delay, String reason) {
+        retried.increment();
+        LOGGER.log(Level.FINE, "Retrying {0} {1} {2} after {3} in {4} ms", new Object[]{
+                name, request.method(), request.url().getPath(), reason, delay / 1_000_000});
+        return Mono.delay(Duration.ofNanos(delay))
+                .then(Mono.defer(() -> attempt(request, next, bucket, tier, priority, idempotent, deadlineAt, attempt + 1)));
+    }
+
+    private boolean canRetry(int attempt, long delay, long deadlineAt) {
+        return attempt < maxRetries && System.nanoTime() + delay < deadlineAt;
+    }
+
+    // Exponential backoff with equal jitter, never shorter than Retry-After
+    private long backoff(int attempt, long retryAfterNanos) {
+        long exponential = backoff.toNanos() << Math.min(attempt, 10);
+        long jittered = exponential / 2 + ThreadLocalRandom.current().nextLong(exponential / 2 + 1);
+        return Math.max(jittered, retryAfterNanos);
+    }
+
+    // Retry-After is either delta-seconds or an HTTP date
+    static long retryAfterNanos(String value) {
+        if (value == null || value.isBlank()) return DEFAULT_RETRY_AFTER.toNanos();
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim())).toNanos();
+        } catch (NumberFormatException e) {
+            try {
+                Duration until = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return Math.max(0, until.toNanos());
+            } catch (RuntimeException ignored) {
+                return DEFAULT_RETRY_AFTER.toNanos();
+            }
+        }
+    }
+
+    // Raised when a call is shed locally instead of being sent upstream
+    public static class RateLimitedException extends RuntimeException {
+        public RateLimitedException(String message) {
+            super(message);
+        }
+    }
+
+    public static final class Stats {
+        public final int buckets;
+        public final long throttled; // 429s received
+        public final long delayed;   // Calls that waited for a token
+        public final long retried;
+        public final long shed;
+
+        Stats(int buckets, long throttled, long delayed, long retried, long shed) {
+            this.buckets = buckets;
+            this.throttled = throttled;
+            this.delayed = delayed;
+            this.retried = retried;
+            this.shed = shed;
+        }
+    }
+}
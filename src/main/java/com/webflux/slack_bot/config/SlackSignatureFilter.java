@@ -0,0 +1,161 @@
+package com.webflux.slack_bot.config;
+
+import com.webflux.slack_bot.util.SlackSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.FormHttpMessageReader;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Rejects POSTs to /slack/** whose X-Slack-Signature does not match the signing secret.
+// Stale or missing timestamps are refused from the headers alone, before the body is read.
+// The body buffers are retained as they arrive, signed in place once complete, and then replayed
+// to the controller as the request body, so nothing is copied or decoded twice.
+@Component
+public class SlackSignatureFilter implements WebFilter, Ordered {
+    private static final Logger LOGGER = Logger.getLogger(SlackSignatureFilter.class.getName());
+    private static final String TIMESTAMP_HEADER = "X-Slack-Request-Timestamp";
+    private static final String SIGNATURE_HEADER = "X-Slack-Signature";
+    private static final ResolvableType FORM_TYPE = ResolvableType.forClassWithGenerics(MultiValueMap.class, String.class, String.class);
+    private static final FormHttpMessageReader FORM_READER = new FormHttpMessageReader();
+
+    private final SlackSignature signature;
+    private final long toleranceSeconds;
+    private final int maxBodyBytes;
+
+    public SlackSignatureFilter(@Value("${slack.signing-secret:}") String signingSecret,
+                                @Value("${slack.signing.tolerance:5m}") Duration tolerance,
+                                @Value("${slack.signing.max-body-bytes:1048576}") int maxBodyBytes) {
+        this.signature = signingSecret.isBlank() ? null : new SlackSignature(signingSecret);
+        this.toleranceSeconds = tolerance.getSeconds();
+        this.maxBodyBytes = maxBodyBytes;
+        if (signature == null) {
+            LOGGER.log(Level.WARNING, "slack.signing-secret is not set; Slack request signatures are NOT verified");
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10; // After TraceContext, before anything reads the body
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (signature == null || request.getMethod() != HttpMethod.POST || !request.getPath().value().startsWith("/slack/")) {
+            return chain.filter(exchange);
+        }
+        String timestamp = request.getHeaders().getFirst(TIMESTAMP_HEADER);
+        if (!SlackSignature.isFresh(timestamp, System.currentTimeMillis() / 1000, toleranceSeconds)) {
+            return reject(exchange, HttpStatus.UNAUTHORIZED, "stale or missing timestamp");
+        }
+        String expected = request.getHeaders().getFirst(SIGNATURE_HEADER);
+        if (expected == null) return reject(exchange, HttpStatus.UNAUTHORIZED, "missing signature");
+
+        int[] size = new int[1];
+        return request.getBody()
+                .doOnNext(buffer -> {
+                    size[0] += buffer.readableByteCount();
+                    if (size[0] > maxBodyBytes) {
+                        DataBufferUtils.release(buffer);
+                        throw new BodyTooLargeException();
+                    }
+                })
+                .collectList()
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release) // Buffers collected before an error or cancel
+                .flatMap(buffers -> {
+                    List<ByteBuffer> views = new ArrayList<>(buffers.size());
+                    for (DataBuffer buffer : buffers) views.add(buffer.asByteBuffer());
+                    if (!signature.verify(timestamp, expected, views)) {
+                        buffers.forEach(DataBufferUtils::release);
+                        return reject(exchange, HttpStatus.UNAUTHORIZED, "signature mismatch");
+                    }
+                    Verified verified = new Verified(exchange, buffers);
+                    return chain.filter(verified).doFinally(signal -> verified.releaseUnread());
+                })
+                .onErrorResume(BodyTooLargeException.class, e -> reject(exchange, HttpStatus.PAYLOAD_TOO_LARGE, "body over " + maxBodyBytes + " bytes"));
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, HttpStatus status, String reason) {
+        LOGGER.log(Level.WARNING, "Rejected {0} {1}: {2}", new Object[]{
+                exchange.getRequest().getMethod(), exchange.getRequest().getPath().value(), reason});
+        exchange.getResponse().setStatusCode(status);
+        return exchange.getResponse().setComplete();
+    }
+
+    // Replays the retained buffers as the body. The form data has to be re-derived from them too:
+    // the original exchange would read it from the already-consumed network body.
+    private static final class Verified extends ServerWebExchangeDecorator {
+        private final List<DataBuffer> buffers;
+        private final AtomicBoolean read = new AtomicBoolean();
+        private final ServerHttpRequest request;
+        private final Mono<MultiValueMap<String, String>> formData;
+
+        Verified(ServerWebExchange delegate, List<DataBuffer> buffers) {
+            super(delegate);
+            this.buffers = buffers;
+            this.request = new ServerHttpRequestDecorator(delegate.getRequest()) {
+                @Override
+                public Flux<DataBuffer> getBody() {
+                    return Flux.defer(() -> read.compareAndSet(false, true)
+                            ? Flux.fromIterable(buffers)
+                            : Flux.error(new IllegalStateException("Request body has already been read")));
+                }
+            };
+            MediaType contentType = delegate.getRequest().getHeaders().getContentType();
+            this.formData = MediaType.APPLICATION_FORM_URLENCODED.isCompatibleWith(contentType)
+                    ? FORM_READER.readMono(FORM_TYPE, request, Collections.emptyMap()).cache()
+                    : Mono.just(new LinkedMultiValueMap<>());
+        }
+
+        @Override
+        public ServerHttpRequest getRequest() {
+            return request;
+        }
+
+        @Override
+        public Mono<MultiValueMap<String, String>> getFormData() {
+            return formData;
+        }
+
+        @Override
+        public ServerWebExchange.Builder mutate() {
+            return super.mutate().request(request); // Keep the replayed body on mutated copies
+        }
+
+        // The handler never asked for the body (e.g. it failed early)
+        void releaseUnread() {
+            if (read.compareAndSet(false, true)) buffers.forEach(DataBufferUtils::release);
+        }
+    }
+
+    private static final class BodyTooLargeException extends RuntimeException {
+        BodyTooLargeException() {
+            super(null, null, false, false);
+        }
+    }
+}
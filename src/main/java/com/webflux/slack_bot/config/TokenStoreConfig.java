@@ -0,0 +1,63 @@
+package com.webflux.slack_bot.config;
+
+import com.webflux.slack_bot.util.FileTokenBackend;
+import com.webflux.slack_bot.util.TokenBackend;
+import com.webflux.slack_bot.util.TokenStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Wires the TokenStore backend: slack.token-store.path enables the file-backed log,
+// and a background poll picks up installs written by other replicas sharing that file.
+@Component
+public class TokenStoreConfig {
+    private static final Logger LOGGER = Logger.getLogger(TokenStoreConfig.class.getName());
+
+    private final String path;
+    private final boolean fsync;
+    private final Duration pollInterval;
+    private TokenBackend backend;
+    private Disposable poller;
+
+    public TokenStoreConfig(@Value("${slack.token-store.path:}") String path,
+                            @Value("${slack.token-store.fsync:true}") boolean fsync,
+                            @Value("${slack.token-store.poll-interval:5s}") Duration pollInterval) {
+        this.path = path;
+        this.fsync = fsync;
+        this.pollInterval = pollInterval;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (path.isBlank()) {
+            LOGGER.log(Level.WARNING, "slack.token-store.path is not set; OAuth tokens are kept in memory only");
+            return;
+        }
+        long begin = System.nanoTime();
+        backend = new FileTokenBackend(Paths.get(path), fsync);
+        TokenStore.install(backend, pollInterval);
+        LOGGER.log(Level.INFO, "Token store warmed with {0} workspaces in {1} ms",
+                new Object[]{TokenStore.size(), (System.nanoTime() - begin) / 1_000_000});
+        poller = Flux.interval(pollInterval, pollInterval, Schedulers.boundedElastic())
+                .subscribe(tick -> TokenStore.refresh());
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (poller != null) poller.dispose();
+        if (backend != null) {
+            TokenStore.install(TokenBackend.IN_MEMORY);
+            backend.close();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.webflux.slack_bot.config;
+
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+// W3C trace context (traceparent header) for each Slack request, carried in the Reactor Context
+// rather than a thread-local so it survives thread hops. Every upstream call made inside the chain
+// sends a child span id, so Slack/Jira hops line up with the request that caused them.
+@Component
+public class TraceContext implements WebFilter, Ordered {
+    public static final String HEADER = "traceparent";
+    private static final Object KEY = TraceContext.class;
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Span parent = Span.parse(exchange.getRequest().getHeaders().getFirst(HEADER));
+        Span span = parent != null ? parent.child() : Span.root();
+        exchange.getResponse().getHeaders().set(HEADER, span.header());
+        return chain.filter(exchange).contextWrite(context -> context.put(KEY, span));
+    }
+
+    public static Optional<Span> current(ContextView context) {
+        return context.getOrEmpty(KEY);
+    }
+
+    // Added to every upstream client: forwards the current trace with a fresh span id
+    public static ExchangeFilterFunction propagate() {
+        return (request, next) -> Mono.deferContextual(context -> next.exchange(current(context)
+                .map(span -> ClientRequest.from(request).header(HEADER, span.child().header()).build())
+                .orElse(request)));
+    }
+
+    public static final class Span {
+        public final String traceId; // 32 hex chars
+        public final String spanId;  // 16 hex chars
+        public final boolean sampled;
+
+        Span(String traceId, String spanId, boolean sampled) {
+            this.traceId = traceId;
+            this.spanId = spanId;
+            this.sampled = sampled;
+        }
+
+        static Span root() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return new Span(hex(random.nextLong()) + hex(random.nextLong()), hex(random.nextLong()), true);
+        }
+
+        // "00-<trace-id>-<parent-id>-<flags>"; null when absent or malformed
+        static Span parse(String header) {
+            if (header == null || header.length() != 55) return null;
+            String[] parts = header.split("-");
+            if (parts.length != 4 || parts[1].length() != 32 || parts[2].length() != 16 || parts[3].length() != 2) return null;
+            if (!isHex(parts[1]) || !isHex(parts[2]) || !isHex(parts[3])) return null;
+            if (parts[1].chars().allMatch(c -> c == '0') || parts[2].chars().allMatch(c -> c == '0')) return null;
+            return new Span(parts[1], parts[2], (Integer.parseInt(parts[3], 16) & 1) == 1);
+        }
+
+        Span child() {
+            return new Span(traceId, hex(ThreadLocalRandom.current().nextLong()), sampled);
+        }
+
+        String header() {
+            return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+        }
+
+        private static String hex(long value) {
+            String digits = Long.toHexString(value);
+            return "0000000000000000".substring(digits.length()) + digits;
+        }
+
+        private static boolean isHex(String value) {
+            return value.chars().allMatch(c -> (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'));
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.webflux.slack_bot.config;
+
+import com.webflux.slack_bot.util.TokenBucket;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// One shared, tuned connection pool + WebClient per upstream host.
+// Settings come from upstream.<name>.* properties, e.g. upstream.jira.max-connections=100;
+// a named client of a family (e.g. jira-T123 of jira) falls back to the family's settings.
+// Every client is wrapped in a RateLimitFilter (upstream.<name>.rate-limit.*) and forwards the request's
+// trace context; the injected builder already times each call (http.client.requests by uri template and status).
+@Component
+public class UpstreamClients {
+    private static final Logger LOGGER = Logger.getLogger(UpstreamClients.class.getName());
+
+    public static final String SLACK = "slack";
+    public static final String JIRA = "jira";
+    public static final String SLACK_API_URL = "https://slack.com/api";
+
+    // Requests per minute per tier when upstream.<name>.rate-limit.<tier>.per-minute is not set
+    private static final Map<String, Double> DEFAULT_PER_MINUTE = Map.of(
+            "tier4", 100.0, "chat", 60.0, "default", 50.0, // Slack, per workspace
+            "read", 600.0, "write", 100.0);                // Jira, per site
+
+    private final Environment environment;
+    private final WebClient.Builder webClientBuilder;
+    private final String slackApiUrl;
+    private final String jiraBaseUrl;
+    private final Map<String, Upstream> upstreams = new ConcurrentHashMap<>();
+
+    public UpstreamClients(Environment environment, WebClient.Builder webClientBuilder,
+                           @Value("${slack.api-url:" + SLACK_API_URL + "}") String slackApiUrl,
+                           @Value("${jira.base-url}") String jiraBaseUrl) {
+        this.environment = environment;
+        this.webClientBuilder = webClientBuilder;
+        this.slackApiUrl = slackApiUrl;
+        this.jiraBaseUrl = jiraBaseUrl;
+    }
+
+    public WebClient slack() {
+        return client(SLACK, slackApiUrl);
+    }
+
+    public WebClient jira() {
+        return client(JIRA, jiraBaseUrl);
+    }
+
+    public WebClient client(String name, String baseUrl) {
+        return client(name, name, baseUrl);
+    }
+
+    public WebClient client(String name, String family, String baseUrl) {
+        return upstreams.computeIfAbsent(name, n -> create(n, family, baseUrl)).webClient;
+    }
+
+    // Closes the named client's pool; the next client() call creates a fresh one
+    public void release(String name) {
+        Upstream upstream = upstreams.remove(name);
+        if (upstream != null) {
+            upstream.provider.disposeLater().subscribe();
+            LOGGER.log(Level.FINE, "Released upstream client {0}", name);
+        }
+    }
+
+    public Map<String, RateLimitFilter.Stats> rateLimitStats() {
+        Map<String, RateLimitFilter.Stats> stats = new LinkedHashMap<>();
+        upstreams.forEach((name, upstream) -> stats.put(name, upstream.rateLimit.stats()));
+        return stats;
+    }
+
+    // Snapshot of every pool, keyed by "<upstream> <remote address>"
+    public Map<String, PoolStats> poolStats() {
+        Map<String, PoolStats> stats = new LinkedHashMap<>();
+        upstreams.forEach((name, upstream) -> upstream.pools.forEach((address, metrics) ->
+                stats.put(name + " " + address, new PoolStats(metrics.acquiredSize(), metrics.idleSize(),
+                        metrics.pendingAcquireSize(), metrics.allocatedSize(), metrics.maxAllocatedSize()))));
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        upstreams.values().forEach(upstream -> upstream.provider.disposeLater().block(Duration.ofSeconds(5)));
+    }
+
+    private Upstream create(String name, String family, String baseUrl) {
+        Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+        int maxConnections = setting(name, family, "max-connections", Integer.class, 50);
+        ConnectionProvider provider = ConnectionProvider.builder("upstream-" + name)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(setting(name, family, "pending-acquire-max-count", Integer.class, maxConnections * 2))
+                .pendingAcquireTimeout(setting(name, family, "pending-acquire-timeout", Duration.class, Duration.ofSeconds(5)))
+                .maxIdleTime(setting(name, family, "max-idle-time", Duration.class, Duration.ofSeconds(30)))
+                .maxLifeTime(setting(name, family, "max-life-time", Duration.class, Duration.ofMinutes(5)))
+                .evictInBackground(setting(name, family, "evict-interval", Duration.class, Duration.ofSeconds(30)))
+                .metrics(true, () -> (poolName, id, remoteAddress, metrics) -> pools.put(String.valueOf(remoteAddress), metrics))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) setting(name, family, "connect-timeout", Duration.class, Duration.ofSeconds(2)).toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(setting(name, family, "response-timeout", Duration.class, Duration.ofSeconds(10)))
+                .compress(setting(name, family, "compress", Boolean.class, true))
+                .keepAlive(true);
+        // HTTP/2 is negotiated via ALPN, so only over TLS; plain-http upstreams stay on HTTP/1.1
+        boolean http2 = setting(name, family, "http2", Boolean.class, true) && baseUrl.startsWith("https:");
+        if (http2) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+
+        RateLimitFilter rateLimit = new RateLimitFilter(name,
+                SLACK.equals(family) ? RateLimitFilter::slackTier : RateLimitFilter::jiraTier,
+                tier -> bucket(name, family, tier),
+                setting(name, family, "rate-limit.max-retries", Integer.class, 3),
+                setting(name, family, "rate-limit.backoff", Duration.class, Duration.ofMillis(200)),
+                setting(name, family, "rate-limit.deadline", Duration.class, Duration.ofSeconds(8)));
+
+        WebClient webClient = webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(TraceContext.propagate())
+                .filter(rateLimit)
+                .build();
+        LOGGER.log(Level.INFO, "Created upstream client {0} -> {1} (maxConnections={2}, http2={3})",
+                new Object[]{name, baseUrl, maxConnections, http2});
+        return new Upstream(provider, webClient, pools, rateLimit);
+    }
+
+    private TokenBucket bucket(String name, String family, String tier) {
+        double perMinute = setting(name, family, "rate-limit." + tier + ".per-minute", Double.class, DEFAULT_PER_MINUTE.getOrDefault(tier, 60.0));
+        double burst = setting(name, family, "rate-limit." + tier + ".burst", Double.class, Math.max(1, perMinute / 6));
+        double reserve = setting(name, family, "rate-limit.reserve", Double.class, 0.2);
+        return new TokenBucket(perMinute / 60, burst, reserve, System.nanoTime());
+    }
+
+    private <T> T setting(String name, String family, String key, Class<T> type, T defaultValue) {
+        T value = environment.getProperty("upstream." + name + "." + key, type);
+        return value != null ? value : environment.getProperty("upstream." + family + "." + key, type, defaultValue);
+    }
+
+    private static final class Upstream {
+        final ConnectionProvider provider;
+        final WebClient webClient;
+        final Map<String, ConnectionPoolMetrics> pools;
+        final RateLimitFilter rateLimit;
+
+        Upstream(ConnectionProvider provider, WebClient webClient, Map<String, ConnectionPoolMetrics> pools, RateLimitFilter rateLimit) {
+            this.provider = provider;
+            this.webClient = webClient;
+            this.pools = pools;
+            this.rateLimit = rateLimit;
+        }
+    }
+
+    public static final class PoolStats {
+        public final int active;
+        public final int idle;
+        public final int pending;
+        public final int allocated;
+        public final int maxAllocated;
+
+        PoolStats(int active, int idle, int pending, int allocated, int maxAllocated) {
+            this.active = active;
+            this.idle = idle;
+            this.pending = pending;
+            this.allocated = allocated;
+            this.maxAllocated = maxAllocated;
+        }
+    }
+}
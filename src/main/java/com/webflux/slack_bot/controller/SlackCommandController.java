@@ -1,82 +1,128 @@
 package com.webflux.slack_bot.controller;
 
+import com.webflux.slack_bot.config.BlockingExecution;
+import com.webflux.slack_bot.config.RateLimitFilter;
+import com.webflux.slack_bot.config.UpstreamClients;
+import com.webflux.slack_bot.service.JiraClient;
+import com.webflux.slack_bot.service.JiraMetadata;
+import com.webflux.slack_bot.service.JiraModalTemplate;
+import com.webflux.slack_bot.service.JiraTenants;
+import com.webflux.slack_bot.util.TokenBucket.Priority;
 import com.webflux.slack_bot.util.TokenStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 @RestController
 public class SlackCommandController {
-    private final WebClient slackWebClient = WebClient.create("https://slack.com/api");
+    private static final Logger LOGGER = Logger.getLogger(SlackCommandController.class.getName());
+    private WebClient slackWebClient;
+
+    @Autowired
+    private UpstreamClients upstreamClients;
+
+    @Autowired
+    private JiraModalTemplate modalTemplate;
+
+    @Autowired
+    private JiraTenants jiraTenants;
+
+    @Autowired
+    private JiraMetadata jiraMetadata;
+
+    @Autowired
+    private BlockingExecution blocking;
+
+    @Value("${slack.bulk-modal.template:classpath:slack/jira_bulk_modal.json}")
+    private Resource bulkModalResource;
+
+    private JiraModalTemplate bulkModalTemplate;
+
+    @PostConstruct
+    void init() throws IOException {
+        slackWebClient = upstreamClients.slack();
+        bulkModalTemplate = new JiraModalTemplate(bulkModalResource);
+    }
 
     @PostMapping("/slack/command")
-    public ResponseEntity<String> handleCommand(@RequestParam Map<String, String> params) {
+    public Mono<ResponseEntity<String>> handleCommand(ServerWebExchange exchange) {
+        // Slash commands arrive as form data; read it without blocking the event loop,
+        // then handle it on a virtual thread when that mode is on (inline otherwise)
+        return exchange.getFormData()
+                .map(MultiValueMap::toSingleValueMap)
+                .flatMap(params -> Mono.deferContextual(context -> Mono.fromCallable(() -> handleCommand(params, context))
+                        .subscribeOn(blocking.scheduler())));
+    }
+
+    private ResponseEntity<String> handleCommand(Map<String, String> params, ContextView context) {
         try {
             String command = params.get("command");  // e.g., "/botjira"
             String text = params.get("text");        // e.g., "create"
             String teamId = params.get("team_id");
             String userId = params.get("user_id");
 
-            // TODO: Verify signing secret
+            // Signature already checked by SlackSignatureFilter
 
-            if (text.startsWith("create")) {
+            if (text.startsWith("create") || text.startsWith("bulk")) {
                 String botToken = TokenStore.getToken(teamId);
                 if (botToken == null) {
                     return ResponseEntity.ok("Bot not authorized. Please install via OAuth first.");
                 }
-                // Open modal async and return 200 immediately
-                Mono.fromRunnable(() -> openJiraModal(params.get("trigger_id"), botToken))
-                        .subscribe();
+                JiraClient jira = jiraTenants.forTeam(teamId);
+                if (text.startsWith("bulk")) {
+                    // The channel rides along in private_metadata so results can be posted there
+                    JiraModalTemplate.Values values = new JiraModalTemplate.Values(params.get("trigger_id"), jira.host(),
+                            jiraMetadata.snapshot(jira), jira.projectKey(), params.getOrDefault("channel_id", userId));
+                    openModal(bulkModalTemplate, values, botToken).subscribeOn(blocking.scheduler()).contextWrite(context).subscribe();
+                    return ResponseEntity.ok("Opening JIRA bulk ticket form...");
+                }
+                // Open modal async and return 200 immediately; the detached call keeps the request's trace
+                openJiraModal(params.get("trigger_id"), botToken, jira).subscribeOn(blocking.scheduler()).contextWrite(context).subscribe();
                 return ResponseEntity.ok("Opening JIRA ticket form...");
             } else {
                 return ResponseEntity.ok("Unknown command: " + text);
             }
         } catch (Exception e) {
-            System.out.println("Error in handleCommand: " + e.getMessage() + " - Params: " + params);
+            LOGGER.log(Level.SEVERE, "Error in handleCommand: " + e.getMessage() + " - Params: " + params, e);
             return ResponseEntity.ok("Error processing command - check logs"); // Return 200 for Slack
         }
     }
 
-    private void openJiraModal(String triggerId, String botToken) {
-        // Modal with EXACT fields from JIRA Cloud for Slack (using Block Kit)
-        // Updated to use external_select for dynamic fields (Parent Epic, Components), but hardcoded static for Labels
-        String modalPayload = "{ \"type\": \"modal\", \"callback_id\": \"jira_ticket_modal\", \"title\": { \"type\": \"plain_text\", \"text\": \"Create JIRA Ticket\" }, \"submit\": { \"type\": \"plain_text\", \"text\": \"Submit\" }, \"blocks\": [ " +
-                "{ \"type\": \"section\", \"text\": { \"type\": \"plain_text\", \"text\": \"Issue is being created for jiratesting2612.atlassian.net\" } }, " +
-                "{ \"type\": \"input\", \"block_id\": \"project_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Project\" }, \"element\": { \"type\": \"static_select\", \"action_id\": \"project\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Which project would you like to create an issue in?\" }, \"options\": [ { \"text\": { \"type\": \"plain_text\", \"text\": \"Bot Demo Project (BDP)\" }, \"value\": \"BDP\" }, { \"text\": { \"type\": \"plain_text\", \"text\": \"Jira Testing (SCRUM)\" }, \"value\": \"SCRUM\" } ] } }, " +
-                "{ \"type\": \"input\", \"block_id\": \"issue_type_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Issue type\" }, \"element\": { \"type\": \"static_select\", \"action_id\": \"issue_type\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"What type of issue is it?\" }, \"options\": [ { \"text\": { \"type\": \"plain_text\", \"text\": \"New Feature\" }, \"value\": \"New Feature\" }, { \"text\": { \"type\": \"plain_text\", \"text\": \"Bug\" }, \"value\": \"Bug\" }, { \"text\": { \"type\": \"plain_text\", \"text\": \"Task\" }, \"value\": \"Task\" } ] } }, " +
-                "{ \"type\": \"input\", \"block_id\": \"summary_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Summary\" }, \"element\": { \"type\": \"plain_text_input\", \"action_id\": \"summary\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Write something\" } } }, " +
-                "{ \"type\": \"input\", \"block_id\": \"description_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Description (optional)\" }, \"optional\": true, \"element\": { \"type\": \"plain_text_input\", \"action_id\": \"description\", \"multiline\": true, \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Write something\" } } }, " +
-                "{ \"type\": \"input\", \"block_id\": \"assignee_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Assignee (optional)\" }, \"optional\": true, \"element\": { \"type\": \"users_select\", \"action_id\": \"assignee\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Pick an option\" } } }, " +
-                "{ \"type\": \"input\", \"block_id\": \"parent_epic_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Parent Epic (optional)\" }, \"optional\": true, \"element\": { \"type\": \"external_select\", \"action_id\": \"parent_epic\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Start typing to search and pick your option\" }, \"min_query_length\": 3 } }, " +
-                "{ \"type\": \"input\", \"block_id\": \"components_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Components (optional)\" }, \"optional\": true, \"element\": { \"type\": \"multi_external_select\", \"action_id\": \"components\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Pick your options\" }, \"min_query_length\": 0 } }, " +
-                "{ \"type\": \"input\", \"block_id\": \"priority_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Priority (optional)\" }, \"optional\": true, \"element\": { \"type\": \"static_select\", \"action_id\": \"priority\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Medium\" }, \"options\": [ { \"text\": { \"type\": \"plain_text\", \"text\": \"Highest\" }, \"value\": \"Highest\" }, { \"text\": { \"type\": \"plain_text\", \"text\": \"High\" }, \"value\": \"High\" }, { \"text\": { \"type\": \"plain_text\", \"text\": \"Medium\" }, \"value\": \"Medium\" }, { \"text\": { \"type\": \"plain_text\", \"text\": \"Low\" }, \"value\": \"Low\" }, { \"text\": { \"type\": \"plain_text\", \"text\": \"Lowest\" }, \"value\": \"Lowest\" } ] } }, " +
-                "{ \"type\": \"input\", \"block_id\": \"labels_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Labels (optional)\" }, \"optional\": true, \"element\": { \"type\": \"multi_static_select\", \"action_id\": \"labels\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Pick one or more labels\" }, \"options\": [ " +  // Changed to multi_static_select with hardcoded options
-                "{ \"text\": { \"type\": \"plain_text\", \"text\": \"bug\" }, \"value\": \"bug\" }, " +
-                "{ \"text\": { \"type\": \"plain_text\", \"text\": \"feature\" }, \"value\": \"feature\" }, " +
-                "{ \"text\": { \"type\": \"plain_text\", \"text\": \"urgent\" }, \"value\": \"urgent\" }, " +
-                "{ \"text\": { \"type\": \"plain_text\", \"text\": \"documentation\" }, \"value\": \"documentation\" }, " +
-                "{ \"text\": { \"type\": \"plain_text\", \"text\": \"enhancement\" }, \"value\": \"enhancement\" } " +
-                "] } }, " +
-                "{ \"type\": \"input\", \"block_id\": \"start_date_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Start date (optional)\" }, \"optional\": true, \"element\": { \"type\": \"datepicker\", \"action_id\": \"start_date\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Select a date\" } } }, " +
-                "{ \"type\": \"input\", \"block_id\": \"due_date_block\", \"label\": { \"type\": \"plain_text\", \"text\": \"Due date (optional)\" }, \"optional\": true, \"element\": { \"type\": \"datepicker\", \"action_id\": \"due_date\", \"placeholder\": { \"type\": \"plain_text\", \"text\": \"Select a date\" } } } " +
-                "] }";
-
-        slackWebClient.post()
+    private Mono<Void> openJiraModal(String triggerId, String botToken, JiraClient jira) {
+        // Modal with EXACT fields from JIRA Cloud for Slack (using Block Kit), precompiled from slack/jira_ticket_modal.json;
+        // the select options come from the site's cached create metadata
+        return openModal(modalTemplate, new JiraModalTemplate.Values(triggerId, jira.host(), jiraMetadata.snapshot(jira), jira.projectKey()), botToken);
+    }
+
+    private Mono<Void> openModal(JiraModalTemplate template, JiraModalTemplate.Values values, String botToken) {
+        return slackWebClient.post()
                 .uri("/views.open")
+                .attribute(RateLimitFilter.PRIORITY, Priority.CRITICAL)
+                .attribute(RateLimitFilter.DEADLINE, Duration.ofMillis(2500)) // trigger_id expires after 3s
                 .header("Authorization", "Bearer " + botToken)
                 .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue("{\"trigger_id\": \"" + triggerId + "\", \"view\": " + modalPayload + "}")
+                .body(template.viewsOpenBody(values))
                 .retrieve()
                 .bodyToMono(String.class)
-                .subscribe(response -> {
-                    System.out.println("Modal open response: " + response);
-                }, error -> {
-                    System.out.println("Error opening modal: " + error.getMessage());
-                });
+                .doOnNext(response -> LOGGER.log(Level.FINE, "Modal open response: {0}", response))
+                .doOnError(error -> LOGGER.log(Level.WARNING, "Error opening modal: " + error.getMessage()))
+                .onErrorResume(error -> Mono.empty())
+                .then();
     }
 }
@@ -2,19 +2,46 @@ package com.webflux.slack_bot.controller;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webflux.slack_bot.config.BlockingExecution;
+import com.webflux.slack_bot.config.BotMetrics;
+import com.webflux.slack_bot.config.RateLimitFilter;
+import com.webflux.slack_bot.config.UpstreamClients;
+import com.webflux.slack_bot.model.InteractionPayload;
+import com.webflux.slack_bot.model.ModalView;
+import com.webflux.slack_bot.model.Option;
+import com.webflux.slack_bot.model.ResponseAction;
+import com.webflux.slack_bot.service.BulkTicketService;
+import com.webflux.slack_bot.service.ComponentCache;
+import com.webflux.slack_bot.service.EpicIndex;
+import com.webflux.slack_bot.service.IssueFields;
+import com.webflux.slack_bot.service.JiraAccountIdCache;
+import com.webflux.slack_bot.service.JiraClient;
+import com.webflux.slack_bot.service.JiraMetadata;
+import com.webflux.slack_bot.service.JiraTenants;
+import com.webflux.slack_bot.service.SubmissionDeduplicator;
+import com.webflux.slack_bot.service.SubmissionQueue;
+import com.webflux.slack_bot.service.SuggestionCoordinator;
+import com.webflux.slack_bot.util.FormFieldInputStream;
+import com.webflux.slack_bot.util.SlackJson;
+import com.webflux.slack_bot.util.TokenBucket.Priority;
 import com.webflux.slack_bot.util.TokenStore;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -22,101 +49,187 @@ import java.util.stream.Collectors;
 @RestController
 public class SlackInteractiveController {
     private static final Logger LOGGER = Logger.getLogger(SlackInteractiveController.class.getName());
-    private final WebClient jiraWebClient = WebClient.create();
-    private final WebClient slackWebClient = WebClient.create("https://slack.com/api");
+    private static final int EPIC_SUGGESTION_LIMIT = 10;
+    private static final String CREATING_VIEW = SlackJson.response(ResponseAction.update(
+            ModalView.message("Creating Ticket", "Creating your ticket\u2026 this view will update when it is ready.")));
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private WebClient slackWebClient;
+
+    @Autowired
+    private UpstreamClients upstreamClients;
+
+    @Autowired
+    private JiraTenants jiraTenants;
+
+    @Autowired
+    private JiraAccountIdCache accountIdCache;
+
+    @Autowired
+    private JiraMetadata jiraMetadata;
+
+    @Autowired
+    private EpicIndex epicIndex;
+
+    @Autowired
+    private ComponentCache componentCache;
+
+    @Autowired
+    private SubmissionQueue submissionQueue;
 
-    @Value("${jira.base-url}")
-    private String jiraBaseUrl;
+    @Autowired
+    private BulkTicketService bulkTickets;
 
-    @Value("${jira.email}")
-    private String jiraEmail;
+    @Autowired
+    private SubmissionDeduplicator deduplicator;
 
-    @Value("${jira.api-token}")
-    private String jiraApiToken;
+    @Autowired
+    private SuggestionCoordinator suggestionCoordinator;
 
-    @Value("${jira.project-key}") // Fallback if not selected in modal
-    private String fallbackProjectKey;
+    @Autowired
+    private BotMetrics botMetrics;
+
+    @Autowired
+    private BlockingExecution blocking;
+
+    @Value("${slack.submission.async:false}") // Ack view submissions immediately and create tickets in the background
+    private boolean asyncSubmissions;
+
+    @Value("${slack.interactive.log-payloads:false}")
+    private boolean logPayloads;
+
+    @Value("${slack.interactive.log-sample-rate:0.01}")
+    private double logSampleRate;
+
+    @PostConstruct
+    void init() {
+        slackWebClient = upstreamClients.slack();
+    }
 
     @PostMapping("/slack/interactive")
-    public Mono<ResponseEntity<String>> handleInteractive(@RequestBody String rawPayload) {
+    public Mono<ResponseEntity<String>> handleInteractive(ServerHttpRequest request) {
+        // Percent-decode the payload= form field straight from the request buffers into the JSON parser.
+        // The raw body, not @RequestBody: no codec claims Flux<DataBuffer> for a form post, so that answered 415.
+        return DataBufferUtils.join(request.getBody())
+                .publishOn(blocking.scheduler()) // Synchronous parse (and sampled logging) off the event loop in virtual-thread mode
+                .map(buffer -> {
+                    try (InputStream in = new FormFieldInputStream(buffer.asInputStream(true), "payload")) {
+                        if (shouldLogPayload()) {
+                            JsonNode tree = objectMapper.readTree(in);
+                            LOGGER.log(Level.INFO, "Interactive payload: {0}", tree);
+                            return SlackJson.toPayload(tree);
+                        }
+                        return SlackJson.readPayload(in);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .flatMap(payload -> botMetrics.timeInteraction(payload.getType(), payload.interactionAction(), handleInteractive(payload)))
+                .switchIfEmpty(Mono.fromSupplier(() -> ResponseEntity.badRequest().body("Error handling modal: empty payload")))
+                .onErrorResume(UncheckedIOException.class, e -> {
+                    LOGGER.log(Level.SEVERE, "Error handling interactive payload: " + e.getMessage(), e);
+                    return Mono.just(ResponseEntity.badRequest().body("Error handling modal: " + e.getMessage()));
+                });
+    }
+
+    private Mono<ResponseEntity<String>> handleInteractive(InteractionPayload payload) {
         try {
-            // Step 1: Decode the URL-encoded raw payload from Slack
-            String decodedPayload = URLDecoder.decode(rawPayload, StandardCharsets.UTF_8.name());
-            LOGGER.log(Level.INFO, "Decoded payload: {0}", decodedPayload);
-
-            // Step 2: Extract the JSON string (remove "payload=" prefix if present)
-            String jsonString = decodedPayload.startsWith("payload=") ? decodedPayload.substring(8) : decodedPayload;
-            LOGGER.log(Level.INFO, "Extracted JSON string: {0}", jsonString);
-
-            // Step 3: Parse the JSON
-            JsonNode json = objectMapper.readTree(jsonString);
-            String type = json.get("type").asText();
-            LOGGER.log(Level.INFO, "Parsed JSON type: {0}", type);
-
-            if ("view_submission".equals(type) && "jira_ticket_modal".equals(json.get("view").get("callback_id").asText())) {
-                JsonNode values = json.get("view").get("state").get("values");
-                LOGGER.log(Level.INFO, "Extracted values: {0}", values.toString());
-
-                String teamId = json.get("team").get("id").asText(); // For bot token
-                String projectKey = getSafeValue(values, "project_block", "project", fallbackProjectKey, false);
-                String issueType = getSafeValue(values, "issue_type_block", "issue_type", "Bug", false);
-                String summary = getSafeValue(values, "summary_block", "summary", "", false);
-                String description = getSafeValue(values, "description_block", "description", "", true);
-                String priority = getSafeValue(values, "priority_block", "priority", "Medium", true);
-                String assigneeUserId = getSafeSlackUserId(values, "assignee_block", "assignee"); // Specific extraction for users_select
-                String parentEpic = getSafeValue(values, "parent_epic_block", "parent_epic", "", true);
-                List<String> components = getSafeListValue(values, "components_block", "components");
-                String labelsInput = getSafeValue(values, "labels_block", "labels", "", true);
+            String type = payload.getType();
+            LOGGER.log(Level.FINE, "Parsed JSON type: {0}", type);
+            String teamId = payload.getTeamId(); // For bot token and Jira site
+            JiraClient jira = jiraTenants.forTeam(teamId);
+
+            if ("view_submission".equals(type) && "jira_ticket_modal".equals(payload.getView().getCallbackId())) {
+                InteractionPayload.View view = payload.getView();
+
+                String projectKey = view.value("project_block", "project", jira.projectKey()); // Site default if not selected in modal
+                String issueType = view.value("issue_type_block", "issue_type", "Bug");
+                String summary = view.value("summary_block", "summary", "");
+                String description = view.value("description_block", "description", "");
+                String priority = view.value("priority_block", "priority", "Medium");
+                String assigneeUserId = view.value("assignee_block", "assignee", ""); // Specific extraction for users_select
+                String parentEpic = view.value("parent_epic_block", "parent_epic", "");
+                List<String> components = view.values("components_block", "components");
+                String labelsInput = view.value("labels_block", "labels", "");
                 List<String> labels = List.of(labelsInput.split(",")).stream().map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toList());
-                String startDate = getSafeValue(values, "start_date_block", "start_date", "", true);
-                String dueDate = getSafeValue(values, "due_date_block", "due_date", "", true);
-                // Removed: String team = getSafeValue(values, "team_block", "team", "", true); // No longer exists in modal
+                String startDate = view.value("start_date_block", "start_date", "");
+                String dueDate = view.value("due_date_block", "due_date", "");
+                // Removed: String team = view.value("team_block", "team", ""); // No longer exists in modal
 
                 if (projectKey.isEmpty() || summary.isEmpty()) {
-                    String errorMsg = projectKey.isEmpty() ? "{\"response_action\": \"errors\", \"errors\": { \"project_block\": \"Project is required\" }}" : "{\"response_action\": \"errors\", \"errors\": { \"summary_block\": \"Summary is required\" }}";
-                    return Mono.just(ResponseEntity.ok(errorMsg));
+                    ResponseAction error = projectKey.isEmpty()
+                            ? ResponseAction.error("project_block", "Project is required")
+                            : ResponseAction.error("summary_block", "Summary is required");
+                    return Mono.just(ResponseEntity.ok(SlackJson.response(error)));
                 }
 
-                // Map assignee Slack User ID to Jira accountId (async)
+                // Map assignee Slack User ID to Jira accountId (async, cached per workspace)
                 Mono<String> assigneeAccountIdMono = (assigneeUserId == null || assigneeUserId.isEmpty())
                         ? Mono.just("")
-                        : getSlackUserEmail(teamId, assigneeUserId)
-                        .flatMap(email -> {
-                            if (email.isEmpty()) {
-                                LOGGER.log(Level.WARNING, "No email found for Slack user: " + assigneeUserId);
-                                return Mono.just("");
-                            }
-                            return getJiraAccountIdByEmail(email)
-                                    .map(accountId -> {
-                                        if (accountId.isEmpty()) {
-                                            LOGGER.log(Level.WARNING, "No Jira account found for email: " + email);
-                                        }
-                                        return accountId;
-                                    });
-                        });
+                        : accountIdCache.resolve(teamId, assigneeUserId, () -> lookupJiraAccountId(jira, teamId, assigneeUserId));
+
+                // Double submits and retries of the same view and values share one ticket
+                String viewId = view.getId();
+                String submissionKey = SubmissionDeduplicator.key(teamId, viewId, view.getValues());
+                SubmissionDeduplicator.Submission submission = deduplicator.submit(submissionKey, () -> assigneeAccountIdMono.flatMap(assigneeAccountId ->
+                        createJiraTicket(jira, projectKey, issueType, summary, description, priority, assigneeAccountId, parentEpic, components, labels, startDate, dueDate))); // No team param
+                Mono<String> ticketUrlMono = submission.result;
+
+                if (asyncSubmissions) {
+                    // Ack now with a "creating" view; a queue worker creates the ticket and pushes the result
+                    String userId = payload.getUserId();
+                    if (submission.status == SubmissionDeduplicator.Status.IN_FLIGHT) {
+                        // The first submission's job pushes the result to this same view
+                        return Mono.just(ResponseEntity.ok(CREATING_VIEW));
+                    }
+                    if (submission.status == SubmissionDeduplicator.Status.COMPLETED) {
+                        // Already pushed; answer with the same result instead of replacing it with "creating"
+                        return ticketUrlMono.map(url -> ResponseEntity.ok(SlackJson.response(ResponseAction.update(
+                                ModalView.message("Ticket Created", "Your ticket is ready: <" + url + "|View Ticket>")))));
+                    }
+                    Mono<Void> job = ticketUrlMono
+                            .flatMap(url -> pushResult(teamId, viewId, userId, "Ticket Created", "Your ticket is ready: <" + url + "|View Ticket>"))
+                            .onErrorResume(e -> {
+                                LOGGER.log(Level.SEVERE, "Error creating ticket: " + e.getMessage(), e);
+                                return pushResult(teamId, viewId, userId, "Ticket Not Created", "Failed to create ticket: " + e.getMessage());
+                            });
+                    // The worker subscribes outside this request, so hand it the request's context (trace) explicitly
+                    return Mono.deferContextual(context -> {
+                        if (!submissionQueue.submit(job.contextWrite(context))) {
+                            deduplicator.forget(submissionKey); // Never started, so a resubmit must be allowed through
+                            return Mono.just(ResponseEntity.ok(SlackJson.response(ResponseAction.error("summary_block", "Too many tickets are being created right now, please submit again"))));
+                        }
+                        return Mono.just(ResponseEntity.ok(CREATING_VIEW));
+                    });
+                }
 
-                return assigneeAccountIdMono.flatMap(assigneeAccountId ->
-                        createJiraTicket(projectKey, issueType, summary, description, priority, assigneeAccountId, parentEpic, components, labels, startDate, dueDate) // No team param
-                                .map(url -> ResponseEntity.ok("{\"response_action\": \"update\", \"view\": { \"type\": \"modal\", \"title\": { \"type\": \"plain_text\", \"text\": \"Ticket Created\" }, \"blocks\": [ { \"type\": \"section\", \"text\": { \"type\": \"mrkdwn\", \"text\": \"Your ticket is ready: <" + url + "|View Ticket>\" } } ] }}"))
-                                .onErrorResume(e -> {
-                                    LOGGER.log(Level.SEVERE, "Error creating ticket: " + e.getMessage(), e);
-                                    return Mono.just(ResponseEntity.ok("{\"response_action\": \"errors\", \"errors\": { \"summary_block\": \"Failed to create ticket: " + e.getMessage() + "\" }}"));
-                                }));
+                return ticketUrlMono
+                        .map(url -> ResponseEntity.ok(SlackJson.response(ResponseAction.update(ModalView.message("Ticket Created", "Your ticket is ready: <" + url + "|View Ticket>")))))
+                        .onErrorResume(e -> {
+                            LOGGER.log(Level.SEVERE, "Error creating ticket: " + e.getMessage(), e);
+                            return Mono.just(ResponseEntity.ok(SlackJson.response(ResponseAction.error("summary_block", "Failed to create ticket: " + e.getMessage()))));
+                        });
+            } else if ("view_submission".equals(type) && "jira_bulk_modal".equals(payload.getView().getCallbackId())) {
+                return handleBulkSubmission(payload, jira);
             } else if ("block_suggestion".equals(type)) {
                 // Handle options loading for external_select
-                String actionId = json.get("action_id").asText();
-                String query = json.get("value").asText(); // User's typed query
-                LOGGER.log(Level.INFO, "Handling block_suggestion for action_id: {0}, query: {1}", new Object[]{actionId, query});
+                String actionId = payload.getActionId();
+                String query = payload.getValue(); // User's typed query
+                LOGGER.log(Level.FINE, "Handling block_suggestion for action_id: {0}, query: {1}", new Object[]{actionId, query});
 
+                // Scoped to the project picked in the modal so far (the site default until one is picked)
+                String projectKey = payload.getView().selectedProject(jira.projectKey());
                 Mono<List<Option>> optionsMono;
                 switch (actionId) {
                     case "parent_epic":
-                        optionsMono = searchJira("issuetype = Epic AND summary ~ \"" + query + "\" ORDER BY created DESC");
+                        // Answer from the project's local epic index (default site only); live search when it is not indexed or still cold
+                        optionsMono = (jira == jiraTenants.defaultClient() ? epicIndex.suggest(projectKey, query, EPIC_SUGGESTION_LIMIT) : Optional.<List<Option>>empty())
+                                .map(Mono::just)
+                                .orElseGet(() -> suggestionCoordinator.search(SuggestionCoordinator.scope(jira.tenantId(), projectKey, actionId),
+                                        query, JiraClient.EPIC_SEARCH_LIMIT, q -> jira.searchEpics(projectKey, q)));
                         break;
                     case "components":
-                        // TODO: Dynamically use projectKey from modal context if available (json may have view.state.values)
-                        optionsMono = getJiraComponents(fallbackProjectKey);
+                        // The project's whole list is cached and filtered by the query locally
+                        optionsMono = componentCache.get(jira.tenantId(), projectKey, query, jira::components);
                         break;
                     case "labels":
                         optionsMono = searchJiraLabels(query);
@@ -126,12 +239,15 @@ public class SlackInteractiveController {
                         optionsMono = Mono.just(new ArrayList<>());
                 }
 
-                return optionsMono.map(options -> {
-                    String optionsJson = options.stream()
-                            .map(opt -> "{\"text\": {\"type\": \"plain_text\", \"text\": \"" + opt.label + "\"}, \"value\": \"" + opt.value + "\"}")
-                            .collect(Collectors.joining(", "));
-                    return "{\"options\": [" + optionsJson + "]}";
-                }).map(ResponseEntity::ok);
+                // A newer keystroke in the same select cancels this lookup (Slack only shows the latest answer)
+                String session = SuggestionCoordinator.sessionKey(payload.getUserId(), payload.getView().getId(), actionId);
+                return suggestionCoordinator.latest(session, optionsMono).defaultIfEmpty(List.of())
+                        .map(options -> ResponseEntity.ok(SlackJson.options(options)))
+                        .onErrorResume(e -> {
+                            // Shed or failed lookups show an empty list rather than an error in the select
+                            LOGGER.log(Level.WARNING, "Error loading options for " + actionId + ": " + e.getMessage());
+                            return Mono.just(ResponseEntity.ok(SlackJson.options(List.of())));
+                        });
             }
 
             // Fallback for unhandled types
@@ -142,58 +258,160 @@ public class SlackInteractiveController {
         }
     }
 
-    // Updated to handle different element types (e.g., selected_user for users_select)
-    private String getSafeValue(JsonNode values, String blockId, String actionId, String defaultValue, boolean isOptional) {
-        try {
-            JsonNode block = values.get(blockId);
-            if (block == null) return defaultValue;
-            JsonNode action = block.get(actionId);
-            if (action == null) return defaultValue;
-
-            // Handle different structures
-            if (action.has("selected_option")) {
-                return action.get("selected_option").get("value").asText();
-            } else if (action.has("value")) {
-                return action.get("value").asText();
-            } else if (action.has("selected_date")) {
-                return action.get("selected_date").asText();
-            } else if (action.has("selected_user")) {  // For users_select
-                return action.get("selected_user").asText();
-            } else if (action.has("selected_options")) {  // For multi_select (e.g., labels, components)
-                JsonNode selectedOptions = action.get("selected_options");
-                if (selectedOptions != null && selectedOptions.isArray()) {
-                    return selectedOptions.findValuesAsText("value").stream().collect(Collectors.joining(","));
-                }
-            }
-            return defaultValue;
-        } catch (Exception e) {
-            if (!isOptional) LOGGER.log(Level.WARNING, "Missing required field: " + blockId + "/" + actionId, e);
-            return defaultValue;
+    // Validates the lines and acks with a "creating" view; a queue worker files the issues and posts
+    // each chunk's results, then a summary, to the channel the command was run in
+    private Mono<ResponseEntity<String>> handleBulkSubmission(InteractionPayload payload, JiraClient jira) {
+        InteractionPayload.View view = payload.getView();
+        String teamId = payload.getTeamId();
+        String projectKey = view.value("project_block", "project", jira.projectKey());
+        String issueType = view.value("issue_type_block", "issue_type", "Task");
+        List<BulkTicketService.Line> lines = BulkTicketService.parse(view.value("issues_block", "issues", ""));
+        String problem = lines.isEmpty() ? "Add at least one issue, one per line"
+                : lines.size() > bulkTickets.maxIssues() ? "At most " + bulkTickets.maxIssues() + " issues per submission"
+                : lines.stream().filter(line -> line.summary.isEmpty()).findFirst().map(line -> "Line " + line.number + " has no summary").orElse(null);
+        if (problem != null) {
+            return Mono.just(ResponseEntity.ok(SlackJson.response(ResponseAction.error("issues_block", problem))));
+        }
+
+        String channel = view.getPrivateMetadata().isEmpty() ? payload.getUserId() : view.getPrivateMetadata();
+        String creating = "Creating " + lines.size() + " issues in " + projectKey + "\u2026 results will be posted to <#" + channel + ">.";
+        // Retries and double submits of the same lines share one run, like single tickets; the result is the summary
+        String submissionKey = SubmissionDeduplicator.key(teamId, view.getId(), view.getValues());
+        SubmissionDeduplicator.Submission submission = deduplicator.submit(submissionKey, () -> bulkTickets.create(jira, jiraMetadata.snapshot(jira), projectKey, issueType, lines,
+                        assignee -> resolveAssignee(jira, teamId, assignee))
+                .concatMap(results -> postMessage(teamId, channel, bulkResultText(results)).thenReturn(results))
+                .reduceWith(() -> new int[2], (counts, results) -> {
+                    for (BulkTicketService.Result result : results) counts[result.created() ? 0 : 1]++;
+                    return counts;
+                })
+                .map(counts -> "Bulk create in " + projectKey + " finished: " + counts[0] + " created, " + counts[1] + " failed")
+                .flatMap(summary -> postMessage(teamId, channel, summary).thenReturn(summary)));
+        if (submission.status == SubmissionDeduplicator.Status.IN_FLIGHT) {
+            return Mono.just(ResponseEntity.ok(SlackJson.response(ResponseAction.update(ModalView.message("Creating Tickets", creating)))));
+        }
+        if (submission.status == SubmissionDeduplicator.Status.COMPLETED) {
+            return submission.result.map(summary -> ResponseEntity.ok(SlackJson.response(ResponseAction.update(ModalView.message("Tickets Created", summary)))));
         }
+        Mono<Void> job = submission.result
+                .then()
+                .onErrorResume(e -> {
+                    LOGGER.log(Level.SEVERE, "Error in bulk create: " + e.getMessage(), e);
+                    return postMessage(teamId, channel, "Bulk create failed: " + e.getMessage());
+                });
+        return Mono.deferContextual(context -> {
+            if (!submissionQueue.submit(job.contextWrite(context))) {
+                deduplicator.forget(submissionKey); // Never started, so a resubmit must be allowed through
+                return Mono.just(ResponseEntity.ok(SlackJson.response(ResponseAction.error("issues_block", "Too many tickets are being created right now, please submit again"))));
+            }
+            return Mono.just(ResponseEntity.ok(SlackJson.response(ResponseAction.update(ModalView.message("Creating Tickets", creating)))));
+        });
     }
 
-    // Wrapper for assignee extraction (uses getSafeValue under the hood)
-    private String getSafeSlackUserId(JsonNode values, String blockId, String actionId) {
-        return getSafeValue(values, blockId, actionId, "", true);
+    // Bulk assignees are emails or Slack users; both are cached like the single-ticket assignee
+    private Mono<String> resolveAssignee(JiraClient jira, String teamId, String assignee) {
+        String slackUserId = BulkTicketService.slackUserId(assignee);
+        if (slackUserId != null) {
+            return accountIdCache.resolve(teamId, slackUserId, () -> lookupJiraAccountId(jira, teamId, slackUserId));
+        }
+        if (!assignee.contains("@")) return Mono.just("");
+        String email = assignee.toLowerCase(Locale.ROOT);
+        return accountIdCache.resolve(teamId, "email:" + email, () -> jira.findAccountId(email));
     }
 
-    private List<String> getSafeListValue(JsonNode values, String blockId, String actionId) {
-        List<String> list = new ArrayList<>();
-        try {
-            JsonNode block = values.get(blockId);
-            if (block == null) return list;
-            JsonNode action = block.get(actionId);
-            if (action == null) return list;
-            JsonNode selectedOptions = action.get("selected_options");
-            if (selectedOptions != null && selectedOptions.isArray()) {
-                for (JsonNode opt : selectedOptions) {
-                    list.add(opt.get("value").asText());
-                }
+    private static String bulkResultText(List<BulkTicketService.Result> results) {
+        StringBuilder text = new StringBuilder();
+        for (BulkTicketService.Result result : results) {
+            if (text.length() > 0) text.append('\n');
+            text.append("Line ").append(result.line.number).append(": ");
+            if (result.created()) {
+                text.append("<").append(result.url).append("|").append(result.key).append("> ").append(escapeMrkdwn(result.line.summary));
+            } else {
+                text.append(":x: ").append(escapeMrkdwn(result.line.summary)).append(" \u2014 ").append(escapeMrkdwn(result.error));
             }
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Missing list field: " + blockId + "/" + actionId, e);
         }
-        return list;
+        return text.toString();
+    }
+
+    private static String escapeMrkdwn(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    // Best effort: a failed post is logged, not retried
+    private Mono<Void> postMessage(String teamId, String channel, String text) {
+        String botToken = TokenStore.getToken(teamId);
+        if (botToken == null) return Mono.empty();
+
+        return slackWebClient.post()
+                .uri("/chat.postMessage")
+                .attribute(RateLimitFilter.PRIORITY, Priority.NORMAL)
+                .header("Authorization", "Bearer " + botToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("channel", channel, "text", text))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .doOnNext(response -> {
+                    if (!response.path("ok").asBoolean()) {
+                        LOGGER.log(Level.WARNING, "chat.postMessage to " + channel + " failed: " + response.path("error").asText());
+                    }
+                })
+                .onErrorResume(e -> {
+                    LOGGER.log(Level.WARNING, "chat.postMessage to " + channel + " failed: " + e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    // Payload logging is off by default; when switched on only a sample of requests is logged
+    private boolean shouldLogPayload() {
+        return logPayloads && ThreadLocalRandom.current().nextDouble() < logSampleRate;
+    }
+
+    // Replace the acknowledged modal via views.update; fall back to a DM if the modal is gone
+    private Mono<Void> pushResult(String teamId, String viewId, String userId, String title, String text) {
+        String botToken = TokenStore.getToken(teamId);
+        if (botToken == null) return Mono.empty();
+
+        ModalView view = ModalView.message(title, text);
+        return slackWebClient.post()
+                .uri("/views.update")
+                .attribute(RateLimitFilter.PRIORITY, Priority.CRITICAL)
+                .header("Authorization", "Bearer " + botToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("view_id", viewId, "view", view))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .flatMap(response -> response.path("ok").asBoolean()
+                        ? Mono.<Void>empty()
+                        : Mono.error(new IllegalStateException("views.update failed: " + response.path("error").asText())))
+                .onErrorResume(e -> {
+                    LOGGER.log(Level.WARNING, "Falling back to chat.postMessage: " + e.getMessage());
+                    return slackWebClient.post()
+                            .uri("/chat.postMessage")
+                            .attribute(RateLimitFilter.PRIORITY, Priority.CRITICAL)
+                            .header("Authorization", "Bearer " + botToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(Map.of("channel", userId, "text", text))
+                            .retrieve()
+                            .bodyToMono(String.class)
+                            .then();
+                });
+    }
+
+    private Mono<String> lookupJiraAccountId(JiraClient jira, String teamId, String slackUserId) {
+        return getSlackUserEmail(teamId, slackUserId)
+                .flatMap(email -> {
+                    if (email.isEmpty()) {
+                        LOGGER.log(Level.WARNING, "No email found for Slack user: " + slackUserId);
+                        return Mono.just("");
+                    }
+                    return jira.findAccountId(email)
+                            .map(accountId -> {
+                                if (accountId.isEmpty()) {
+                                    LOGGER.log(Level.WARNING, "No Jira account found for email: " + email);
+                                }
+                                return accountId;
+                            });
+                });
     }
 
     private Mono<String> getSlackUserEmail(String teamId, String userId) {
@@ -202,6 +420,7 @@ public class SlackInteractiveController {
 
         return slackWebClient.post()
                 .uri("/users.info")
+                .attribute(RateLimitFilter.IDEMPOTENT, true)
                 .header("Authorization", "Bearer " + botToken)
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                 .bodyValue("user=" + userId)
@@ -221,63 +440,20 @@ public class SlackInteractiveController {
                 });
     }
 
-    private Mono<String> getJiraAccountIdByEmail(String email) {
-        if (email.isEmpty()) return Mono.just("");
-
-        String auth = Base64.getEncoder().encodeToString((jiraEmail + ":" + jiraApiToken).getBytes(StandardCharsets.UTF_8));
-
-        return jiraWebClient.get()
-                .uri(jiraBaseUrl + "/rest/api/3/user/search?query=" + email)
-                .header("Authorization", "Basic " + auth)
-                .retrieve()
-                .bodyToMono(String.class)
-                .map(response -> {
-                    try {
-                        JsonNode json = objectMapper.readTree(response);
-                        if (json.isArray() && json.size() > 0) {
-                            return json.get(0).get("accountId").asText();
-                        }
-                        return "";
-                    } catch (Exception e) {
-                        LOGGER.log(Level.WARNING, "Error getting Jira accountId: " + e.getMessage());
-                        return "";
-                    }
-                });
-    }
-
-    private Mono<String> createJiraTicket(String projectKey, String issueType, String summary, String description, String priority, String assigneeAccountId,
+    private Mono<String> createJiraTicket(JiraClient jira, String projectKey, String issueType, String summary, String description, String priority, String assigneeAccountId,
                                           String parentEpic, List<String> components, List<String> labels, String startDate, String dueDate) { // Removed team param
-        String auth = Base64.getEncoder().encodeToString((jiraEmail + ":" + jiraApiToken).getBytes(StandardCharsets.UTF_8));
-
         // Build payload as JSON object to avoid string concatenation errors
-        Map<String, Object> fields = new HashMap<>();
-        fields.put("project", Map.of("key", projectKey));
-        fields.put("summary", summary);
-        fields.put("issuetype", Map.of("name", issueType));
-
-        // ADF for description
-        Map<String, Object> descriptionADF = Map.of(
-                "type", "doc",
-                "version", 1,
-                "content", List.of(
-                        Map.of(
-                                "type", "paragraph",
-                                "content", List.of(
-                                        Map.of("text", description, "type", "text")
-                                )
-                        )
-                )
-        );
-        fields.put("description", descriptionADF);
-
-        if (!priority.isEmpty()) fields.put("priority", Map.of("name", priority));
-        if (!assigneeAccountId.isEmpty()) fields.put("assignee", Map.of("accountId", assigneeAccountId));
-        if (!parentEpic.isEmpty()) fields.put("parent", Map.of("key", parentEpic));
-        if (!components.isEmpty()) fields.put("components", components.stream().map(c -> Map.of("name", c)).collect(Collectors.toList()));
-        if (!labels.isEmpty()) fields.put("labels", labels);
-        if (!startDate.isEmpty()) fields.put("customfield_10015", startDate); // REPLACE with actual ID
-        if (!dueDate.isEmpty()) fields.put("duedate", dueDate);
-        // Removed: if (!team.isEmpty()) fields.put("customfield_10001", team);
+        JiraMetadata.Snapshot meta = jiraMetadata.snapshot(jira);
+        Map<String, Object> fields = new IssueFields(meta, projectKey, issueType, summary)
+                .description(description)
+                .optional("priority", priority.isEmpty() ? null : Map.of("name", priority))
+                .optional("assignee", assigneeAccountId.isEmpty() ? null : Map.of("accountId", assigneeAccountId))
+                .optional("parent", parentEpic.isEmpty() ? null : Map.of("key", parentEpic))
+                .optional("components", components.stream().map(c -> Map.of("name", c)).collect(Collectors.toList()))
+                .optional("labels", labels)
+                .optional(meta.startDateField(projectKey), startDate)
+                .optional("duedate", dueDate)
+                .build();
 
         Map<String, Object> payloadMap = Map.of("fields", fields);
         String payload;
@@ -289,79 +465,7 @@ public class SlackInteractiveController {
         }
         LOGGER.log(Level.INFO, "Sending JIRA payload: " + payload);
 
-        return jiraWebClient.post()
-                .uri(jiraBaseUrl + "/rest/api/3/issue")
-                .header("Authorization", "Basic " + auth)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(payload)
-                .retrieve()
-                .onStatus(HttpStatus::is4xxClientError, response -> response.bodyToMono(String.class)
-                        .flatMap(errorBody -> {
-                            LOGGER.log(Level.SEVERE, "Jira 400 error response: " + errorBody);
-                            return Mono.error(new RuntimeException("Jira API error: " + errorBody));
-                        }))
-                .bodyToMono(String.class)
-                .map(response -> {
-                    LOGGER.log(Level.INFO, "JIRA response: " + response);
-                    try {
-                        JsonNode json = objectMapper.readTree(response);
-                        String key = json.get("key").asText();
-                        return jiraBaseUrl + "/browse/" + key;
-                    } catch (Exception e) {
-                        throw new RuntimeException("Parse error: " + e.getMessage() + " - Response: " + response);
-                    }
-                });
-    }
-
-    private Mono<List<Option>> searchJira(String jql) {
-        String auth = Base64.getEncoder().encodeToString((jiraEmail + ":" + jiraApiToken).getBytes(StandardCharsets.UTF_8));
-        String payload = "{\"jql\": \"" + jql + "\", \"maxResults\": 10, \"fields\": [\"key\", \"summary\"]}";
-
-        return jiraWebClient.post()
-                .uri(jiraBaseUrl + "/rest/api/3/search")
-                .header("Authorization", "Basic " + auth)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(payload)
-                .retrieve()
-                .bodyToMono(String.class)
-                .map(response -> {
-                    List<Option> options = new ArrayList<>();
-                    try {
-                        JsonNode json = objectMapper.readTree(response);
-                        JsonNode issues = json.get("issues");
-                        for (JsonNode issue : issues) {
-                            String key = issue.get("key").asText();
-                            String summary = issue.get("fields").get("summary").asText();
-                            options.add(new Option(summary + " (" + key + ")", key));
-                        }
-                    } catch (Exception e) {
-                        LOGGER.log(Level.WARNING, "Error parsing Jira search: " + e.getMessage());
-                    }
-                    return options;
-                });
-    }
-
-    private Mono<List<Option>> getJiraComponents(String projectKey) {
-        String auth = Base64.getEncoder().encodeToString((jiraEmail + ":" + jiraApiToken).getBytes(StandardCharsets.UTF_8));
-
-        return jiraWebClient.get()
-                .uri(jiraBaseUrl + "/rest/api/3/project/" + projectKey + "/components")
-                .header("Authorization", "Basic " + auth)
-                .retrieve()
-                .bodyToMono(String.class)
-                .map(response -> {
-                    List<Option> options = new ArrayList<>();
-                    try {
-                        JsonNode json = objectMapper.readTree(response);
-                        for (JsonNode comp : json) {
-                            String name = comp.get("name").asText();
-                            options.add(new Option(name, name));
-                        }
-                    } catch (Exception e) {
-                        LOGGER.log(Level.WARNING, "Error parsing Jira components: " + e.getMessage());
-                    }
-                    return options;
-                });
+        return jira.createIssue(payload).map(jira::browseUrl);
     }
 
     private Mono<List<Option>> searchJiraLabels(String query) {
@@ -370,27 +474,4 @@ public class SlackInteractiveController {
         options.add(new Option(query, query)); // Allow creation by returning the query as a new option
         return Mono.just(options);
     }
-
-    private static class Option {
-        String label;
-        String value;
-
-        Option(String label, String value) {
-            this.label = label;
-            this.value = value;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            Option option = (Option) o;
-            return value.equals(option.value);
-        }
-
-        @Override
-        public int hashCode() {
-            return value.hashCode();
-        }
-    }
 }
@@ -2,20 +2,31 @@ package com.webflux.slack_bot.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.webflux.slack_bot.config.RateLimitFilter;
+import com.webflux.slack_bot.config.UpstreamClients;
+import com.webflux.slack_bot.util.TokenBucket.Priority;
 import com.webflux.slack_bot.util.TokenStore;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;  // Add this import
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.UncheckedIOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 @RestController
 public class SlackOAuthController {
-    private final WebClient webClient = WebClient.create("https://slack.com");
+    private static final Logger LOGGER = Logger.getLogger(SlackOAuthController.class.getName());
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    @Autowired
+    private UpstreamClients upstreamClients;
+
     @Value("${slack.client-id}")
     private String clientId;
 
@@ -30,30 +41,38 @@ public class SlackOAuthController {
             @RequestParam String code,
             @RequestParam(required = false) String state) {
 
-        return webClient.post()
+        return upstreamClients.slack().post()
                 .uri(uriBuilder -> uriBuilder
-                        .path("/api/oauth.v2.access")
+                        .path("/oauth.v2.access")
                         .queryParam("code", code)
                         .queryParam("client_id", clientId)
                         .queryParam("client_secret", clientSecret)
                         .queryParam("redirect_uri", redirectUri)
                         .build())
+                .attribute(RateLimitFilter.PRIORITY, Priority.CRITICAL)
                 .retrieve()
                 .bodyToMono(String.class)
-                .map(responseBody -> {
+                .flatMap(responseBody -> {
+                    String accessToken;
+                    String teamId;
                     try {
                         JsonNode json = objectMapper.readTree(responseBody);
-                        if (json.has("ok") && json.get("ok").asBoolean()) {
-                            String accessToken = json.get("access_token").asText();
-                            String teamId = json.get("team").get("id").asText();
-                            TokenStore.storeToken(teamId, accessToken);
-                            return ResponseEntity.ok("OAuth successful for team " + teamId);
-                        } else {
-                            return ResponseEntity.badRequest().body("OAuth error: " + responseBody);
+                        if (!json.has("ok") || !json.get("ok").asBoolean()) {
+                            return Mono.just(ResponseEntity.badRequest().body("OAuth error: " + responseBody));
                         }
+                        accessToken = json.get("access_token").asText();
+                        teamId = json.get("team").get("id").asText();
                     } catch (Exception e) {
-                        return ResponseEntity.status(500).body("OAuth response parsing error");
+                        return Mono.just(ResponseEntity.status(500).body("OAuth response parsing error"));
                     }
+                    // storeToken blocks on the backend write, so it runs off the event loop
+                    return Mono.fromRunnable(() -> TokenStore.storeToken(teamId, accessToken))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .thenReturn(ResponseEntity.ok("OAuth successful for team " + teamId))
+                            .onErrorResume(UncheckedIOException.class, e -> {
+                                LOGGER.log(Level.SEVERE, "Could not persist OAuth token for team " + teamId, e);
+                                return Mono.just(ResponseEntity.status(500).body("OAuth token could not be saved for team " + teamId));
+                            });
                 })
                 .onErrorReturn(ResponseEntity.status(500).body("OAuth error"));
     }
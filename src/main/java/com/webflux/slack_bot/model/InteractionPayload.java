@@ -0,0 +1,236 @@
+package com.webflux.slack_bot.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// The parts of a Slack interaction payload (view_submission, block_suggestion, block_actions) the bot reads.
+// Everything else, including the echoed view definition, is skipped while parsing instead of being built as a tree.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class InteractionPayload {
+    private final String type;
+    private final String teamId;
+    private final String userId;
+    private final String actionId;
+    private final String value;
+    private final View view;
+    private final List<Action> actions;
+
+    @JsonCreator
+    public InteractionPayload(@JsonProperty("type") String type,
+                              @JsonProperty("team") Ref team,
+                              @JsonProperty("user") Ref user,
+                              @JsonProperty("action_id") String actionId,
+                              @JsonProperty("value") String value,
+                              @JsonProperty("view") View view,
+                              @JsonProperty("actions") List<Action> actions) {
+        this.type = type == null ? "" : type;
+        this.teamId = team == null || team.id == null ? "" : team.id;
+        this.userId = user == null || user.id == null ? "" : user.id;
+        this.actionId = actionId == null ? "" : actionId;
+        this.value = value == null ? "" : value;
+        this.view = view == null ? View.EMPTY : view;
+        this.actions = actions == null ? List.of() : actions;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getTeamId() {
+        return teamId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    // block_suggestion's select; empty for other types
+    public String getActionId() {
+        return actionId;
+    }
+
+    // block_suggestion's typed query
+    public String getValue() {
+        return value;
+    }
+
+    public View getView() {
+        return view;
+    }
+
+    // action_id for suggestions and block actions, callback_id for view submissions
+    public String interactionAction() {
+        if (!actionId.isEmpty()) return actionId;
+        if (!actions.isEmpty() && actions.get(0).actionId != null) return actions.get(0).actionId;
+        return view.callbackId;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static final class Ref {
+        final String id;
+
+        @JsonCreator
+        Ref(@JsonProperty("id") String id) {
+            this.id = id;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static final class Action {
+        final String actionId;
+
+        @JsonCreator
+        Action(@JsonProperty("action_id") String actionId) {
+            this.actionId = actionId;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final class View {
+        static final View EMPTY = new View(null, null, null, null, null);
+
+        private final String id;
+        private final String callbackId;
+        private final String hash;
+        private final String privateMetadata;
+        private final Map<String, Map<String, ElementState>> values;
+
+        @JsonCreator
+        View(@JsonProperty("id") String id,
+             @JsonProperty("callback_id") String callbackId,
+             @JsonProperty("hash") String hash,
+             @JsonProperty("private_metadata") String privateMetadata,
+             @JsonProperty("state") State state) {
+            this.id = id == null ? "" : id;
+            this.callbackId = callbackId == null ? "" : callbackId;
+            this.hash = hash == null ? "" : hash;
+            this.privateMetadata = privateMetadata == null ? "" : privateMetadata;
+            this.values = state == null || state.values == null ? Map.of() : state.values;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getCallbackId() {
+            return callbackId;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        // Echo of the private_metadata the view was opened with
+        public String getPrivateMetadata() {
+            return privateMetadata;
+        }
+
+        // view.state.values: block_id -> action_id -> element state
+        public Map<String, Map<String, ElementState>> getValues() {
+            return values;
+        }
+
+        public ElementState element(String blockId, String actionId) {
+            Map<String, ElementState> block = values.get(blockId);
+            return block == null ? null : block.get(actionId);
+        }
+
+        // The element's single value (multi-selects are comma-joined), or defaultValue when unset
+        public String value(String blockId, String actionId, String defaultValue) {
+            ElementState element = element(blockId, actionId);
+            String value = element == null ? null : element.value();
+            return value == null ? defaultValue : value;
+        }
+
+        // Project picked in the modal's project select (block_suggestion payloads carry the state too), or defaultProject
+        public String selectedProject(String defaultProject) {
+            String project = value("project_block", "project", "");
+            return project.isEmpty() ? defaultProject : project;
+        }
+
+        // The values of a multi-select, empty when unset
+        public List<String> values(String blockId, String actionId) {
+            ElementState element = element(blockId, actionId);
+            return element == null ? List.of() : element.selectedValues();
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static final class State {
+        final Map<String, Map<String, ElementState>> values;
+
+        @JsonCreator
+        State(@JsonProperty("values") Map<String, Map<String, ElementState>> values) {
+            this.values = values;
+        }
+    }
+
+    // One input's state; which field is set depends on the element type
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final class ElementState {
+        private final String type;
+        private final String value;
+        private final Option selectedOption;
+        private final List<Option> selectedOptions;
+        private final String selectedDate;
+        private final String selectedUser;
+
+        @JsonCreator
+        public ElementState(@JsonProperty("type") String type,
+                            @JsonProperty("value") String value,
+                            @JsonProperty("selected_option") Option selectedOption,
+                            @JsonProperty("selected_options") List<Option> selectedOptions,
+                            @JsonProperty("selected_date") String selectedDate,
+                            @JsonProperty("selected_user") String selectedUser) {
+            this.type = type;
+            this.value = value;
+            this.selectedOption = selectedOption;
+            this.selectedOptions = selectedOptions;
+            this.selectedDate = selectedDate;
+            this.selectedUser = selectedUser;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        // Same precedence the form has always used: option, text value, date, user, then joined multi-select
+        public String value() {
+            if (selectedOption != null) return selectedOption.getValue();
+            if (value != null) return value;
+            if (selectedDate != null) return selectedDate;
+            if (selectedUser != null) return selectedUser;
+            if (selectedOptions != null) return String.join(",", selectedValues());
+            return null;
+        }
+
+        public List<String> selectedValues() {
+            if (selectedOptions == null || selectedOptions.isEmpty()) return List.of();
+            List<String> values = new ArrayList<>(selectedOptions.size());
+            for (Option option : selectedOptions) {
+                if (option.getValue() != null) values.add(option.getValue());
+            }
+            return Collections.unmodifiableList(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ElementState that = (ElementState) o;
+            return Objects.equals(value(), that.value()) && Objects.equals(type, that.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, value());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.webflux.slack_bot.model;
+
+import java.util.List;
+
+// A modal made of mrkdwn sections, as pushed with response_action=update or views.update
+public class ModalView {
+    private final Text title;
+    private final List<Section> blocks;
+
+    public ModalView(Text title, List<Section> blocks) {
+        this.title = title;
+        this.blocks = blocks;
+    }
+
+    // A modal with one mrkdwn message
+    public static ModalView message(String title, String text) {
+        return new ModalView(Text.plain(title), List.of(new Section(Text.mrkdwn(text))));
+    }
+
+    public String getType() {
+        return "modal";
+    }
+
+    public Text getTitle() {
+        return title;
+    }
+
+    public List<Section> getBlocks() {
+        return blocks;
+    }
+
+    public static final class Section {
+        private final Text text;
+
+        public Section(Text text) {
+            this.text = text;
+        }
+
+        public String getType() {
+            return "section";
+        }
+
+        public Text getText() {
+            return text;
+        }
+    }
+}
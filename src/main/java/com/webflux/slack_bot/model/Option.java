@@ -0,0 +1,54 @@
+package com.webflux.slack_bot.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Objects;
+
+// A Block Kit option: display label plus submitted value.
+// On the wire it is {"text": {"type": "plain_text", "text": label}, "value": value}.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Option {
+    private final String label;
+    private final String value;
+
+    public Option(String label, String value) {
+        this.label = label;
+        this.value = value;
+    }
+
+    @JsonCreator
+    Option(@JsonProperty("text") Text text, @JsonProperty("value") String value) {
+        this(text == null ? null : text.getText(), value);
+    }
+
+    @JsonIgnore
+    public String getLabel() {
+        return label;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @JsonProperty("text")
+    Text text() {
+        return Text.plain(label);
+    }
+
+    // For Set uniqueness (based on value)
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Option option = (Option) o;
+        return Objects.equals(value, option.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(value);
+    }
+}
@@ -0,0 +1,18 @@
+package com.webflux.slack_bot.model;
+
+import java.util.List;
+
+// Answer to an external select's block_suggestion: {"options": [...]}
+public class OptionsResponse {
+    public static final OptionsResponse EMPTY = new OptionsResponse(List.of());
+
+    private final List<Option> options;
+
+    public OptionsResponse(List<Option> options) {
+        this.options = options;
+    }
+
+    public List<Option> getOptions() {
+        return options;
+    }
+}
@@ -0,0 +1,42 @@
+package com.webflux.slack_bot.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Map;
+
+// The synchronous answer to a view_submission: show field errors, or replace the modal
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResponseAction {
+    private final String responseAction;
+    private final Map<String, String> errors;
+    private final ModalView view;
+
+    private ResponseAction(String responseAction, Map<String, String> errors, ModalView view) {
+        this.responseAction = responseAction;
+        this.errors = errors;
+        this.view = view;
+    }
+
+    // Shows message under the input block blockId
+    public static ResponseAction error(String blockId, String message) {
+        return new ResponseAction("errors", Map.of(blockId, message), null);
+    }
+
+    public static ResponseAction update(ModalView view) {
+        return new ResponseAction("update", null, view);
+    }
+
+    @JsonProperty("response_action")
+    public String getResponseAction() {
+        return responseAction;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public ModalView getView() {
+        return view;
+    }
+}
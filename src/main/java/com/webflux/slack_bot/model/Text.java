@@ -0,0 +1,34 @@
+package com.webflux.slack_bot.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// A Block Kit text object: {"type": "plain_text" | "mrkdwn", "text": ...}
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Text {
+    private final String type;
+    private final String text;
+
+    @JsonCreator
+    public Text(@JsonProperty("type") String type, @JsonProperty("text") String text) {
+        this.type = type;
+        this.text = text;
+    }
+
+    public static Text plain(String text) {
+        return new Text("plain_text", text);
+    }
+
+    public static Text mrkdwn(String text) {
+        return new Text("mrkdwn", text);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
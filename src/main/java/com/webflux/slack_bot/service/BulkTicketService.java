@@ -0,0 +1,202 @@
+package com.webflux.slack_bot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Files many issues from one /botjira bulk submission. Each line of the text is an issue:
+//   summary | assignee | priority | labels
+// where everything after the summary is optional, assignee is an email or Slack user (U123 / <@U123>)
+// and labels are comma or space separated. All distinct assignees are resolved up front, then the issues
+// go to POST /issue/bulk in chunks of jira.bulk.chunk-size with at most jira.bulk.parallelism chunks in
+// flight. Each chunk's results are emitted as one list when the chunk completes, in line order.
+@Component
+public class BulkTicketService {
+    private static final Logger LOGGER = Logger.getLogger(BulkTicketService.class.getName());
+    private static final int JIRA_MAX_CHUNK = 50; // /issue/bulk limit
+    private static final int RESOLVE_CONCURRENCY = 4;
+    private static final Pattern SLACK_USER = Pattern.compile("<?@?([UW][A-Z0-9]{2,})(?:\\|[^>]*)?>?");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int chunkSize;
+    private final int parallelism;
+    private final int maxIssues;
+
+    public BulkTicketService(@Value("${jira.bulk.chunk-size:50}") int chunkSize,
+                             @Value("${jira.bulk.parallelism:2}") int parallelism,
+                             @Value("${jira.bulk.max-issues:200}") int maxIssues) {
+        this.chunkSize = Math.max(1, Math.min(JIRA_MAX_CHUNK, chunkSize));
+        this.parallelism = Math.max(1, parallelism);
+        this.maxIssues = maxIssues;
+    }
+
+    public int maxIssues() {
+        return maxIssues;
+    }
+
+    // Blank lines and lines starting with # are skipped
+    public static List<Line> parse(String text) {
+        List<Line> lines = new ArrayList<>();
+        String[] rows = text == null ? new String[0] : text.split("\\R");
+        for (int i = 0; i < rows.length; i++) {
+            String row = rows[i].trim();
+            if (row.isEmpty() || row.startsWith("#")) continue;
+            String[] parts = row.split("\\|", -1);
+            List<String> labels = parts.length > 3
+                    ? Arrays.stream(parts[3].split("[,\\s]+")).filter(s -> !s.isEmpty()).collect(Collectors.toList())
+                    : List.of();
+            lines.add(new Line(i + 1, parts[0].trim(), part(parts, 1), part(parts, 2), labels));
+        }
+        return lines;
+    }
+
+    private static String part(String[] parts, int index) {
+        return parts.length > index ? parts[index].trim() : "";
+    }
+
+    // Slack user id in a mention or bare id, or null when the assignee is not one (e.g. an email)
+    public static String slackUserId(String assignee) {
+        Matcher matcher = SLACK_USER.matcher(assignee);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    // resolver maps an assignee as written to a Jira accountId ("" when unknown); it is called once per distinct assignee
+    public Flux<List<Result>> create(JiraClient jira, JiraMetadata.Snapshot meta, String projectKey, String issueType,
+                                     List<Line> lines, Function<String, Mono<String>> resolver) {
+        Set<String> assignees = lines.stream().map(line -> line.assignee).filter(a -> !a.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        return Flux.fromIterable(assignees)
+                .flatMap(assignee -> resolver.apply(assignee)
+                        .onErrorResume(e -> {
+                            LOGGER.log(Level.WARNING, "Could not resolve assignee " + assignee + ": " + e.getMessage());
+                            return Mono.just("");
+                        })
+                        .defaultIfEmpty("")
+                        .map(accountId -> Map.entry(assignee, accountId)), RESOLVE_CONCURRENCY)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .flatMapMany(accountIds -> Flux.fromIterable(chunks(lines))
+                        .flatMap(chunk -> submit(jira, chunk, chunk.stream()
+                                .map(line -> fields(meta, projectKey, issueType, line, accountIds))
+                                .collect(Collectors.toList())), parallelism));
+    }
+
+    private List<List<Line>> chunks(List<Line> lines) {
+        List<List<Line>> chunks = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i += chunkSize) {
+            chunks.add(lines.subList(i, Math.min(lines.size(), i + chunkSize)));
+        }
+        return chunks;
+    }
+
+    private static Map<String, Object> fields(JiraMetadata.Snapshot meta, String projectKey, String issueType, Line line,
+                                              Map<String, String> accountIds) {
+        String accountId = accountIds.getOrDefault(line.assignee, "");
+        return Map.of("fields", new IssueFields(meta, projectKey, issueType, line.summary)
+                .optional("assignee", accountId.isEmpty() ? null : Map.of("accountId", accountId))
+                .optional("priority", line.priority.isEmpty() ? null : Map.of("name", line.priority))
+                .optional("labels", line.labels)
+                .build());
+    }
+
+    // A failed call fails every line of the chunk; the other chunks carry on
+    private Mono<List<Result>> submit(JiraClient jira, List<Line> chunk, List<Map<String, Object>> issueUpdates) {
+        return jira.createIssues(issueUpdates)
+                .map(body -> results(jira, chunk, body))
+                .onErrorResume(e -> {
+                    LOGGER.log(Level.WARNING, "Bulk create of " + chunk.size() + " issues failed: " + e.getMessage());
+                    return Mono.just(chunk.stream().map(line -> Result.failed(line, e.getMessage())).collect(Collectors.toList()));
+                });
+    }
+
+    // "issues" lists the created issues in request order; "errors" names failed items by failedElementNumber
+    List<Result> results(JiraClient jira, List<Line> chunk, String body) {
+        JsonNode json;
+        try {
+            json = objectMapper.readTree(body);
+        } catch (Exception e) {
+            throw new RuntimeException("Error parsing Jira bulk response: " + e.getMessage(), e);
+        }
+        Map<Integer, String> errors = new HashMap<>();
+        for (JsonNode error : json.path("errors")) {
+            errors.put(error.path("failedElementNumber").asInt(-1), errorMessage(error.path("elementErrors")));
+        }
+        Iterator<JsonNode> created = json.path("issues").iterator();
+        List<Result> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Line line = chunk.get(i);
+            if (errors.containsKey(i)) {
+                results.add(Result.failed(line, errors.get(i)));
+            } else if (created.hasNext()) {
+                String key = created.next().path("key").asText();
+                results.add(new Result(line, key, jira.browseUrl(key), null));
+            } else {
+                results.add(Result.failed(line, "No result from Jira"));
+            }
+        }
+        return results;
+    }
+
+    private static String errorMessage(JsonNode elementErrors) {
+        List<String> messages = new ArrayList<>();
+        elementErrors.path("errorMessages").forEach(message -> messages.add(message.asText()));
+        elementErrors.path("errors").fields().forEachRemaining(field -> messages.add(field.getKey() + ": " + field.getValue().asText()));
+        return messages.isEmpty() ? "Rejected by Jira" : String.join("; ", messages);
+    }
+
+    // One parsed line of the bulk text
+    public static final class Line {
+        public final int number;
+        public final String summary;
+        public final String assignee;
+        public final String priority;
+        public final List<String> labels;
+
+        Line(int number, String summary, String assignee, String priority, List<String> labels) {
+            this.number = number;
+            this.summary = summary;
+            this.assignee = assignee;
+            this.priority = priority;
+            this.labels = labels;
+        }
+    }
+
+    public static final class Result {
+        public final Line line;
+        public final String key;   // null when the issue was not created
+        public final String url;
+        public final String error;
+
+        Result(Line line, String key, String url, String error) {
+            this.line = line;
+            this.key = key;
+            this.url = url;
+            this.error = error;
+        }
+
+        static Result failed(Line line, String error) {
+            return new Result(line, null, null, error);
+        }
+
+        public boolean created() {
+            return key != null;
+        }
+    }
+}
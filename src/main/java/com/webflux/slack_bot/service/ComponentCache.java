@@ -0,0 +1,108 @@
+package com.webflux.slack_bot.service;
+
+import com.webflux.slack_bot.model.Option;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+// Per-project Jira component lists with stale-while-revalidate, keyed by Jira site (tenant) and project.
+// Entries older than the TTL are still served while one background refresh reloads them;
+// only entries past max-stale (or missing) make the caller wait for Jira. An expired entry is still
+// served if that reload fails (e.g. while the Jira circuit is open).
+@Component
+public class ComponentCache {
+    private static final Logger LOGGER = Logger.getLogger(ComponentCache.class.getName());
+    private static final int MAX_OPTIONS = 100; // Slack's limit for external select options
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Mono<List<Option>>> inFlight = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final long maxStaleMillis;
+    private final int maxProjects;
+
+    public ComponentCache(@Value("${jira.component-cache.ttl:10m}") Duration ttl,
+                          @Value("${jira.component-cache.max-stale:1d}") Duration maxStale,
+                          @Value("${jira.component-cache.max-projects:500}") int maxProjects) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxStaleMillis = maxStale.toMillis();
+        this.maxProjects = maxProjects;
+    }
+
+    // Components of the tenant's project whose name contains the typed query (case-insensitive)
+    public Mono<List<Option>> get(String tenantId, String projectKey, String query, Function<String, Mono<List<Option>>> loader) {
+        String key = tenantId + "/" + projectKey;
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt < maxStaleMillis) {
+            entry.lastAccess = now;
+            if (now - entry.loadedAt >= ttlMillis && entry.refreshing.compareAndSet(false, true)) {
+                load(key, projectKey, loader)
+                        .doFinally(signal -> entry.refreshing.set(false))
+                        .subscribe(options -> { }, e -> LOGGER.log(Level.WARNING,
+                                "Background component refresh failed for " + key + ": " + e.getMessage()));
+            }
+            return Mono.just(filter(entry.components, query));
+        }
+        Mono<List<Option>> loaded = load(key, projectKey, loader).map(components -> filter(components, query));
+        if (entry == null) return loaded;
+        // Too stale to serve up front, but still better than nothing if Jira is failing
+        return loaded.onErrorResume(e -> {
+            LOGGER.log(Level.WARNING, "Serving expired components for " + key + ": " + e.getMessage());
+            return Mono.just(filter(entry.components, query));
+        });
+    }
+
+    private Mono<List<Option>> load(String key, String projectKey, Function<String, Mono<List<Option>>> loader) {
+        AtomicReference<Mono<List<Option>>> self = new AtomicReference<>();
+        self.set(Mono.defer(() -> loader.apply(projectKey))
+                .doOnNext(components -> put(key, components))
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .cache());
+        Mono<List<Option>> existing = inFlight.putIfAbsent(key, self.get());
+        return existing != null ? existing : self.get();
+    }
+
+    private void put(String key, List<Option> components) {
+        if (entries.size() >= maxProjects && !entries.containsKey(key)) {
+            // Bounded by project count: drop the least recently used project
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                    .ifPresent(e -> entries.remove(e.getKey()));
+        }
+        entries.put(key, new Entry(List.copyOf(components), System.currentTimeMillis()));
+    }
+
+    static List<Option> filter(List<Option> components, String query) {
+        String needle = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        return components.stream()
+                .filter(option -> needle.isEmpty() || option.getLabel().toLowerCase(Locale.ROOT).contains(needle))
+                .limit(MAX_OPTIONS)
+                .collect(Collectors.toList());
+    }
+
+    private static final class Entry {
+        final List<Option> components;
+        final long loadedAt;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        volatile long lastAccess;
+
+        Entry(List<Option> components, long loadedAt) {
+            this.components = components;
+            this.loadedAt = loadedAt;
+            this.lastAccess = loadedAt;
+        }
+    }
+}
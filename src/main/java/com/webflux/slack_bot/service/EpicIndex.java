@@ -0,0 +1,229 @@
+package com.webflux.slack_bot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webflux.slack_bot.model.Option;
+import com.webflux.slack_bot.util.TokenBucket.Priority;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+// In-memory epic index per project of the default Jira site, for Parent Epic typeahead.
+// A background job pulls only epics updated since the last sync (with a periodic full rebuild to drop
+// deleted ones); suggestions are answered from a token prefix index over summary and key.
+@Component
+public class EpicIndex {
+    private static final Logger LOGGER = Logger.getLogger(EpicIndex.class.getName());
+    private static final int PAGE_SIZE = 100;
+    private static final List<String> FIELDS = List.of("summary", "created");
+    private static final Comparator<Epic> NEWEST_FIRST = Comparator.comparing((Epic e) -> e.created).reversed();
+
+    private final JiraClient jiraClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, ProjectIndex> indexes = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final List<String> projectKeys;
+    private final Duration refreshInterval;
+    private final Duration fullRefreshInterval;
+    private Disposable refreshJob;
+
+    public EpicIndex(JiraTenants jiraTenants,
+                     @Value("${jira.epic-index.enabled:true}") boolean enabled,
+                     @Value("${jira.epic-index.projects:${jira.project-key}}") String projectKeys,
+                     @Value("${jira.epic-index.refresh-interval:2m}") Duration refreshInterval,
+                     @Value("${jira.epic-index.full-refresh-interval:1h}") Duration fullRefreshInterval) {
+        this.jiraClient = jiraTenants.defaultClient();
+        this.enabled = enabled;
+        this.projectKeys = Arrays.stream(projectKeys.split(",")).map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toList());
+        this.refreshInterval = refreshInterval;
+        this.fullRefreshInterval = fullRefreshInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return; // Stays cold, so callers always use live search
+        refreshJob = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> Flux.fromIterable(projectKeys)
+                        .concatMap(projectKey -> refresh(projectKey)
+                                .onErrorResume(e -> {
+                                    LOGGER.log(Level.WARNING, "Epic index refresh failed for " + projectKey + ": " + e.getMessage());
+                                    return Mono.empty();
+                                }))
+                        .then())
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refreshJob != null) refreshJob.dispose();
+    }
+
+    // Empty when the index is still cold (caller should fall back to a live search).
+    // A null projectKey searches all indexed projects.
+    public Optional<List<Option>> suggest(String projectKey, String query, int limit) {
+        Collection<ProjectIndex> targets;
+        if (projectKey != null) {
+            ProjectIndex index = indexes.get(projectKey);
+            if (index == null) return Optional.empty();
+            targets = List.of(index);
+        } else {
+            if (projectKeys.isEmpty() || indexes.size() < projectKeys.size()) return Optional.empty();
+            targets = indexes.values();
+        }
+
+        String[] queryTokens = tokenize(query);
+        List<Epic> matches = new ArrayList<>();
+        for (ProjectIndex index : targets) {
+            index.match(queryTokens, matches);
+        }
+        matches.sort(NEWEST_FIRST);
+        return Optional.of(matches.stream()
+                .limit(limit)
+                .map(e -> new Option(e.summary + " (" + e.key + ")", e.key))
+                .collect(Collectors.toList()));
+    }
+
+    Mono<Void> refresh(String projectKey) {
+        ProjectIndex current = indexes.get(projectKey);
+        long now = System.currentTimeMillis();
+        boolean full = current == null || now - current.lastFullSync >= fullRefreshInterval.toMillis();
+        String jql = "project = \"" + projectKey + "\" AND issuetype = Epic";
+        if (!full) {
+            // Relative JQL avoids depending on the Jira account's timezone; +1m overlap for clock skew
+            long minutes = Duration.ofMillis(now - current.lastSync).toMinutes() + 1;
+            jql += " AND updated >= -" + minutes + "m";
+        }
+
+        return fetchAll(jql, 0, new ArrayList<>())
+                .map(epics -> {
+                    Map<String, Epic> byKey = full ? new HashMap<>() : new HashMap<>(current.byKey);
+                    for (Epic epic : epics) byKey.put(epic.key, epic);
+                    return new ProjectIndex(byKey, now, full ? now : current.lastFullSync);
+                })
+                .doOnNext(index -> {
+                    indexes.put(projectKey, index);
+                    LOGGER.log(Level.FINE, "Epic index for {0} refreshed ({1} epics, full={2})",
+                            new Object[]{projectKey, index.byKey.size(), full});
+                })
+                .then();
+    }
+
+    private Mono<List<Epic>> fetchAll(String jql, int startAt, List<Epic> collected) {
+        // Background read: shares the suggestions bulkhead, so it stops while Jira's circuit is open
+        return jiraClient.suggestions().execute(jiraClient.search(jql, startAt, PAGE_SIZE, FIELDS, Priority.BEST_EFFORT)
+                        .bodyToMono(String.class))
+                .flatMap(response -> {
+                    int total;
+                    int received;
+                    try {
+                        JsonNode json = objectMapper.readTree(response);
+                        JsonNode issues = json.get("issues");
+                        received = issues.size();
+                        total = json.path("total").asInt(0);
+                        for (JsonNode issue : issues) {
+                            JsonNode fields = issue.get("fields");
+                            collected.add(new Epic(issue.get("key").asText(), fields.path("summary").asText(""), fields.path("created").asText("")));
+                        }
+                    } catch (Exception e) {
+                        return Mono.error(new RuntimeException("Error parsing epic search: " + e.getMessage(), e));
+                    }
+                    int next = startAt + received;
+                    return received > 0 && next < total ? fetchAll(jql, next, collected) : Mono.just(collected);
+                });
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null) return new String[0];
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}-]+"))
+                .filter(s -> !s.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static final class Epic {
+        final String key;
+        final String summary;
+        final String created; // ISO-8601 from Jira, so it sorts lexicographically
+        final String[] tokens;
+
+        Epic(String key, String summary, String created) {
+            this.key = key;
+            this.summary = summary;
+            this.created = created;
+            Set<String> all = new LinkedHashSet<>(Arrays.asList(tokenize(summary)));
+            String lowerKey = key.toLowerCase(Locale.ROOT);
+            all.add(lowerKey);
+            all.addAll(Arrays.asList(lowerKey.split("-")));
+            this.tokens = all.toArray(new String[0]);
+        }
+
+        boolean hasTokenWithPrefix(String prefix) {
+            for (String token : tokens) {
+                if (token.startsWith(prefix)) return true;
+            }
+            return false;
+        }
+    }
+
+    // Immutable snapshot, swapped atomically on refresh
+    private static final class ProjectIndex {
+        final Map<String, Epic> byKey;
+        final NavigableMap<String, List<Epic>> tokenIndex = new TreeMap<>();
+        final long lastSync;
+        final long lastFullSync;
+
+        ProjectIndex(Map<String, Epic> byKey, long lastSync, long lastFullSync) {
+            this.byKey = byKey;
+            this.lastSync = lastSync;
+            this.lastFullSync = lastFullSync;
+            for (Epic epic : byKey.values()) {
+                for (String token : epic.tokens) {
+                    tokenIndex.computeIfAbsent(token, t -> new ArrayList<>()).add(epic);
+                }
+            }
+        }
+
+        // Every query token must prefix some token of the epic; the first one drives the index range scan
+        void match(String[] queryTokens, List<Epic> out) {
+            if (queryTokens.length == 0) {
+                out.addAll(byKey.values());
+                return;
+            }
+            String first = queryTokens[0];
+            Set<Epic> candidates = new LinkedHashSet<>();
+            for (List<Epic> epics : tokenIndex.subMap(first, true, first + Character.MAX_VALUE, false).values()) {
+                candidates.addAll(epics);
+            }
+            for (Epic epic : candidates) {
+                boolean all = true;
+                for (int i = 1; i < queryTokens.length && all; i++) {
+                    all = epic.hasTokenWithPrefix(queryTokens[i]);
+                }
+                if (all) out.add(epic);
+            }
+        }
+    }
+}
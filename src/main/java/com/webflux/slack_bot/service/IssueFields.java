@@ -0,0 +1,53 @@
+package com.webflux.slack_bot.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// "fields" of one issue for POST /issue and /issue/bulk. Optional fields are only set when they are on
+// the project/issue type's create screen (per the site's JiraMetadata snapshot); Jira rejects the issue otherwise.
+public final class IssueFields {
+    private static final Logger LOGGER = Logger.getLogger(IssueFields.class.getName());
+
+    private final Map<String, Object> fields = new HashMap<>();
+    private final JiraMetadata.Snapshot meta;
+    private final String projectKey;
+    private final String issueType;
+
+    public IssueFields(JiraMetadata.Snapshot meta, String projectKey, String issueType, String summary) {
+        this.meta = meta;
+        this.projectKey = projectKey;
+        this.issueType = issueType;
+        fields.put("project", Map.of("key", projectKey));
+        fields.put("summary", summary);
+        fields.put("issuetype", Map.of("name", issueType));
+    }
+
+    // Plain text as a single ADF paragraph
+    public IssueFields description(String text) {
+        fields.put("description", Map.of(
+                "type", "doc",
+                "version", 1,
+                "content", List.of(Map.of(
+                        "type", "paragraph",
+                        "content", List.of(Map.of("text", text, "type", "text"))))));
+        return this;
+    }
+
+    // Skipped when value is empty or the field is not on the create screen
+    public IssueFields optional(String fieldId, Object value) {
+        if (value == null || "".equals(value) || (value instanceof List && ((List<?>) value).isEmpty())) return this;
+        if (meta.hasField(projectKey, issueType, fieldId)) {
+            fields.put(fieldId, value);
+        } else {
+            LOGGER.log(Level.FINE, "Skipping {0}: not on the {1}/{2} create screen", new Object[]{fieldId, projectKey, issueType});
+        }
+        return this;
+    }
+
+    public Map<String, Object> build() {
+        return fields;
+    }
+}
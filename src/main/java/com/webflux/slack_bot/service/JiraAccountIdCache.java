@@ -0,0 +1,161 @@
+package com.webflux.slack_bot.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Caches Slack user -> Jira accountId resolutions per workspace.
+// An empty accountId means "not found" and is kept for the (shorter) negative TTL.
+// Concurrent lookups for the same user share a single in-flight Mono.
+@Component
+public class JiraAccountIdCache {
+    private static final Logger LOGGER = Logger.getLogger(JiraAccountIdCache.class.getName());
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadTimeNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public JiraAccountIdCache(@Value("${jira.account-cache.ttl:6h}") Duration ttl,
+                              @Value("${jira.account-cache.negative-ttl:5m}") Duration negativeTtl,
+                              @Value("${jira.account-cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    public Mono<String> resolve(String teamId, String slackUserId, Supplier<Mono<String>> loader) {
+        String key = teamId + ":" + slackUserId;
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+            hits.increment();
+            if (entry.accountId.isEmpty()) negativeHits.increment();
+            return Mono.just(entry.accountId);
+        }
+        misses.increment();
+
+        Mono<String> pending = inFlight.get(key);
+        if (pending != null) {
+            coalesced.increment();
+            return pending;
+        }
+        Mono<String> load = load(key, loader);
+        pending = inFlight.putIfAbsent(key, load);
+        if (pending != null) {
+            coalesced.increment();
+            return pending;
+        }
+        return load;
+    }
+
+    public void invalidate(String teamId, String slackUserId) {
+        entries.remove(teamId + ":" + slackUserId);
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), negativeHits.sum(), misses.sum(), coalesced.sum(), loads.sum(),
+                loadFailures.sum(), loadTimeNanos.sum(), evictions.sum(), entries.size());
+    }
+
+    private Mono<String> load(String key, Supplier<Mono<String>> loader) {
+        AtomicReference<Mono<String>> self = new AtomicReference<>();
+        self.set(Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return loader.get()
+                            .defaultIfEmpty("")
+                            .doOnNext(accountId -> {
+                                loads.increment();
+                                loadTimeNanos.add(System.nanoTime() - start);
+                                put(key, accountId);
+                            })
+                            .doOnError(e -> {
+                                // Errors are transient; don't cache them, the next caller retries
+                                loadFailures.increment();
+                                LOGGER.log(Level.WARNING, "Account lookup failed for " + key + ": " + e.getMessage());
+                            });
+                })
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .cache());
+        return self.get();
+    }
+
+    private void put(String key, String accountId) {
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            evict();
+        }
+        long ttl = accountId.isEmpty() ? negativeTtlNanos : ttlNanos;
+        entries.put(key, new Entry(accountId, System.nanoTime() + ttl));
+    }
+
+    // Drop expired entries first; if still full, drop arbitrary entries down to 90% of capacity
+    private void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(e -> e.expiresAt - now <= 0);
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private static final class Entry {
+        final String accountId;
+        final long expiresAt;
+
+        Entry(String accountId, long expiresAt) {
+            this.accountId = accountId;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public static final class Stats {
+        public final long hits;
+        public final long negativeHits;
+        public final long misses;
+        public final long coalesced;
+        public final long loads;
+        public final long loadFailures;
+        public final long loadTimeNanos;
+        public final long evictions;
+        public final int size;
+
+        Stats(long hits, long negativeHits, long misses, long coalesced, long loads,
+              long loadFailures, long loadTimeNanos, long evictions, int size) {
+            this.hits = hits;
+            this.negativeHits = negativeHits;
+            this.misses = misses;
+            this.coalesced = coalesced;
+            this.loads = loads;
+            this.loadFailures = loadFailures;
+            this.loadTimeNanos = loadTimeNanos;
+            this.evictions = evictions;
+            this.size = size;
+        }
+
+        public double averageLoadMillis() {
+            return loads == 0 ? 0 : loadTimeNanos / 1_000_000.0 / loads;
+        }
+    }
+}
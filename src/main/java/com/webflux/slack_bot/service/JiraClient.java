@@ -0,0 +1,270 @@
+package com.webflux.slack_bot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webflux.slack_bot.config.RateLimitFilter;
+import com.webflux.slack_bot.config.TraceContext;
+import com.webflux.slack_bot.model.Option;
+import com.webflux.slack_bot.util.Bulkhead;
+import com.webflux.slack_bot.util.StreamingOptionParser;
+import com.webflux.slack_bot.util.TokenBucket.Priority;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Jira REST client for one Jira site (tenant); instances come from JiraTenants.
+// The Basic auth header is encoded once (and again only on rotateCredentials) and attached by a filter,
+// which is also the single place every Jira call passes through for logging/timing.
+// Typeahead and writes run in separate bulkheads, each with its own circuit breaker, so a flood of
+// suggestion searches during a Jira brownout cannot hold up ticket creation.
+public class JiraClient {
+    private static final Logger LOGGER = Logger.getLogger(JiraClient.class.getName());
+    private static final String SEARCH = "/rest/api/3/search";
+    private static final List<String> EPIC_FIELDS = List.of("key", "summary");
+    private static final List<String> TEAM_FIELDS = List.of("customfield_10001");
+    public static final int EPIC_SEARCH_LIMIT = 10;
+    private static final int CREATE_META_PAGE_SIZE = 200;
+    private static final Duration TYPEAHEAD_DEADLINE = Duration.ofSeconds(2); // Slack drops option loads after 3s
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String tenantId;
+    private final WebClient webClient;
+    private final String baseUrl;
+    private final String host;
+    private final String projectKey;
+    private final String projects;
+    private final Bulkhead suggestions;
+    private final Bulkhead writes;
+    private volatile String authHeader;
+
+    public JiraClient(String tenantId, WebClient pooledClient, String baseUrl, String email, String apiToken,
+                      String projectKey, String projects, Bulkhead suggestions, Bulkhead writes) {
+        this.tenantId = tenantId;
+        this.baseUrl = baseUrl;
+        this.host = URI.create(baseUrl).getHost();
+        this.projectKey = projectKey;
+        this.projects = projects;
+        this.suggestions = suggestions;
+        this.writes = writes;
+        rotateCredentials(email, apiToken);
+        this.webClient = pooledClient.mutate()
+                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .filter(authentication())
+                .filter(timing())
+                .build();
+    }
+
+    // Swaps the credentials used by every subsequent request; in-flight requests keep the old header
+    public void rotateCredentials(String email, String apiToken) {
+        authHeader = "Basic " + Base64.getEncoder().encodeToString((email + ":" + apiToken).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String tenantId() {
+        return tenantId;
+    }
+
+    public String host() {
+        return host;
+    }
+
+    // Project used when the modal does not name one
+    public String projectKey() {
+        return projectKey;
+    }
+
+    // KEY=Label pairs offered in the modal's project select
+    public String projects() {
+        return projects;
+    }
+
+    // Typeahead and other reads that can be dropped while Jira is unhealthy
+    public Bulkhead suggestions() {
+        return suggestions;
+    }
+
+    // Ticket creation and the lookups it depends on
+    public Bulkhead writes() {
+        return writes;
+    }
+
+    public String browseUrl(String issueKey) {
+        return baseUrl + "/browse/" + issueKey;
+    }
+
+    // Pre-configured request specs: base URI, auth and JSON headers already applied
+    public WebClient.RequestHeadersSpec<?> get(String uriTemplate, Object... uriVariables) {
+        return webClient.get().uri(uriTemplate, uriVariables);
+    }
+
+    public WebClient.RequestBodySpec post(String uriTemplate, Object... uriVariables) {
+        return webClient.post().uri(uriTemplate, uriVariables).contentType(MediaType.APPLICATION_JSON);
+    }
+
+    // POST /search; the raw body is streamed so callers can parse it without buffering.
+    // Searches are safe to retry; best-effort ones are shed first when the read budget runs low.
+    public WebClient.ResponseSpec search(String jql, int startAt, int maxResults, List<String> fields, Priority priority) {
+        WebClient.RequestBodySpec spec = post(SEARCH)
+                .attribute(RateLimitFilter.PRIORITY, priority)
+                .attribute(RateLimitFilter.IDEMPOTENT, true);
+        if (priority == Priority.BEST_EFFORT) spec = spec.attribute(RateLimitFilter.DEADLINE, TYPEAHEAD_DEADLINE);
+        return spec
+                .bodyValue(Map.of("jql", jql, "startAt", startAt, "maxResults", maxResults, "fields", fields))
+                .retrieve();
+    }
+
+    // Epics of one project (all projects when projectKey is null or empty); scoping lets Jira search one project's issues
+    public Mono<List<Option>> searchEpics(String projectKey, String query) {
+        return suggestions.execute(search(epicJql(projectKey, query), 0, EPIC_SEARCH_LIMIT, EPIC_FIELDS, Priority.BEST_EFFORT)
+                .bodyToFlux(DataBuffer.class)
+                .as(StreamingOptionParser.SEARCH_ISSUES::parse));
+    }
+
+    // No team search endpoint on this plan: pull teams off recent issues that have one
+    public Mono<List<Option>> searchTeams(String query) {
+        String jql = "Team IS NOT EMPTY AND (summary ~ " + jqlString(query) + " OR key ~ " + jqlString(query) + ") ORDER BY created DESC";
+        return suggestions.execute(search(jql, 0, 20, TEAM_FIELDS, Priority.BEST_EFFORT)
+                .bodyToFlux(DataBuffer.class)
+                .as(StreamingOptionParser.SEARCH_TEAMS::parse)); // Unique by team id
+    }
+
+    public Mono<List<Option>> components(String projectKey) {
+        return suggestions.execute(get("/rest/api/3/project/{key}/components", projectKey)
+                .attribute(RateLimitFilter.PRIORITY, Priority.BEST_EFFORT)
+                .attribute(RateLimitFilter.DEADLINE, TYPEAHEAD_DEADLINE)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(StreamingOptionParser.COMPONENTS::parse));
+    }
+
+    // Projects the bot's user can create issues in (GET /project/search?action=create), first page by name
+    public Mono<String> createableProjects(int max) {
+        return metadataRead(get("/rest/api/3/project/search?action=create&orderBy=name&maxResults={max}", max));
+    }
+
+    // Issue types creatable in the project (GET /issue/createmeta/{project}/issuetypes)
+    public Mono<String> createMetaIssueTypes(String projectKey) {
+        return metadataRead(get("/rest/api/3/issue/createmeta/{key}/issuetypes?maxResults={max}", projectKey, CREATE_META_PAGE_SIZE));
+    }
+
+    // Fields on the issue type's create screen, with allowed values (GET /issue/createmeta/{project}/issuetypes/{id})
+    public Mono<String> createMetaFields(String projectKey, String issueTypeId) {
+        return metadataRead(get("/rest/api/3/issue/createmeta/{key}/issuetypes/{id}?maxResults={max}", projectKey, issueTypeId, CREATE_META_PAGE_SIZE));
+    }
+
+    // Background metadata reads: best effort, retryable, and stopped while the Jira circuit is open
+    private Mono<String> metadataRead(WebClient.RequestHeadersSpec<?> spec) {
+        return suggestions.execute(spec
+                .attribute(RateLimitFilter.PRIORITY, Priority.BEST_EFFORT)
+                .attribute(RateLimitFilter.IDEMPOTENT, true)
+                .retrieve()
+                .bodyToMono(String.class));
+    }
+
+    // accountId of the first user matching the email, or "" when there is none
+    public Mono<String> findAccountId(String email) {
+        if (email.isEmpty()) return Mono.just("");
+
+        return writes.execute(get("/rest/api/3/user/search?query={email}", email)
+                .retrieve()
+                .bodyToMono(String.class))
+                .map(response -> {
+                    try {
+                        JsonNode json = objectMapper.readTree(response);
+                        if (json.isArray() && json.size() > 0) {
+                            return json.get(0).get("accountId").asText();
+                        }
+                        return "";
+                    } catch (Exception e) {
+                        LOGGER.log(Level.WARNING, "Error getting Jira accountId: " + e.getMessage());
+                        return "";
+                    }
+                });
+    }
+
+    // Creates the issue and returns its key; 4xx responses fail with Jira's error body
+    public Mono<String> createIssue(Object payload) {
+        return writes.execute(post("/rest/api/3/issue")
+                .attribute(RateLimitFilter.PRIORITY, Priority.CRITICAL)
+                .bodyValue(payload)
+                .retrieve()
+                .onStatus(HttpStatus::is4xxClientError, response -> response.bodyToMono(String.class)
+                        .flatMap(errorBody -> {
+                            LOGGER.log(Level.SEVERE, "Jira 400 error response: " + errorBody);
+                            return Mono.error(new RuntimeException("Jira API error: " + errorBody));
+                        }))
+                .bodyToMono(String.class))
+                .map(response -> {
+                    LOGGER.log(Level.INFO, "JIRA response: " + response);
+                    try {
+                        return objectMapper.readTree(response).get("key").asText();
+                    } catch (Exception e) {
+                        throw new RuntimeException("Parse error: " + e.getMessage() + " - Response: " + response);
+                    }
+                });
+    }
+
+    // POST /issue/bulk with up to 50 issueUpdates. Returns the raw body: a 201 can still carry per-item
+    // "errors", and a 400 (every item failed) has the same shape, so neither is treated as a call failure.
+    public Mono<String> createIssues(List<Map<String, Object>> issueUpdates) {
+        return writes.execute(post("/rest/api/3/issue/bulk")
+                .attribute(RateLimitFilter.PRIORITY, Priority.NORMAL)
+                .bodyValue(Map.of("issueUpdates", issueUpdates))
+                .retrieve()
+                .onStatus(status -> status == HttpStatus.BAD_REQUEST, response -> Mono.empty())
+                .bodyToMono(String.class));
+    }
+
+    // Errors that say Jira is unhealthy; validation errors (other 4xx) and local shedding don't count
+    public static boolean isUpstreamFailure(Throwable e) {
+        if (e instanceof WebClientResponseException) {
+            int status = ((WebClientResponseException) e).getRawStatusCode();
+            return status >= 500 || status == 429;
+        }
+        return e instanceof WebClientRequestException || e instanceof TimeoutException;
+    }
+
+    static String epicJql(String projectKey, String query) {
+        // Trailing wildcard so the last word matches as a prefix while the user is still typing it
+        String text = query.trim();
+        return (projectKey == null || projectKey.isEmpty() ? "" : "project = " + jqlString(projectKey) + " AND ")
+                + "issuetype = Epic" + (text.isEmpty() ? "" : " AND summary ~ " + jqlString(text + "*")) + " ORDER BY created DESC";
+    }
+
+    // Quoted JQL string literal
+    static String jqlString(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private ExchangeFilterFunction authentication() {
+        return (request, next) -> next.exchange(ClientRequest.from(request)
+                .headers(headers -> headers.set(HttpHeaders.AUTHORIZATION, authHeader))
+                .build());
+    }
+
+    private ExchangeFilterFunction timing() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            long start = System.nanoTime();
+            String trace = TraceContext.current(context).map(span -> span.traceId).orElse("-");
+            return next.exchange(request)
+                    .doOnNext(response -> LOGGER.log(Level.FINE, "Jira[{0}] {1} {2} -> {3} in {4} ms (trace {5})", new Object[]{
+                            tenantId, request.method(), request.url().getPath(), response.rawStatusCode(), (System.nanoTime() - start) / 1_000_000, trace}));
+        });
+    }
+}
@@ -0,0 +1,349 @@
+package com.webflux.slack_bot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webflux.slack_bot.model.Option;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+// Create-screen metadata per Jira site: the projects the bot can create issues in (GET /project/search), and
+// for each of them its issue types, priorities, Start date field and create-screen field ids (createmeta).
+// The modal and the ticket builder only read the site's current
+// immutable snapshot, which a background load replaces in one volatile write, so nothing on the request
+// path waits for Jira. The default site loads at startup and on jira.metadata.refresh-interval; other
+// sites load in the background on first use and when read after the interval. Until a site's first load
+// succeeds (or while Jira is failing) the configured jira.projects / jira.metadata.* values are served, and
+// they stay the answer for any project the load did not cover.
+@Component
+public class JiraMetadata {
+    private static final Logger LOGGER = Logger.getLogger(JiraMetadata.class.getName());
+    private static final int MAX_OPTIONS = 100; // Slack's limit for static select options
+    private static final int CONCURRENCY = 4; // Parallel createmeta field requests per load
+
+    private final JiraTenants jiraTenants;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long refreshMillis;
+    private final List<Option> issueTypes;
+    private final List<Option> priorities;
+    private final List<Option> labels;
+    private final String startDateField;
+    private final String startDateFieldName;
+    private Disposable refreshJob;
+
+    public JiraMetadata(JiraTenants jiraTenants,
+                        @Value("${jira.metadata.enabled:true}") boolean enabled,
+                        @Value("${jira.metadata.refresh-interval:30m}") Duration refreshInterval,
+                        @Value("${jira.metadata.issue-types:New Feature,Bug,Task}") String issueTypes,
+                        @Value("${jira.metadata.priorities:Highest,High,Medium,Low,Lowest}") String priorities,
+                        @Value("${jira.metadata.labels:bug,feature,urgent,documentation,enhancement}") String labels,
+                        @Value("${jira.metadata.start-date-field:customfield_10015}") String startDateField,
+                        @Value("${jira.metadata.start-date-field-name:Start date}") String startDateFieldName) {
+        this.jiraTenants = jiraTenants;
+        this.enabled = enabled;
+        this.refreshMillis = refreshInterval.toMillis();
+        this.issueTypes = parseOptions(issueTypes);
+        this.priorities = parseOptions(priorities);
+        this.labels = parseOptions(labels);
+        this.startDateField = startDateField;
+        this.startDateFieldName = startDateFieldName;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return; // Configured values only
+        JiraClient jira = jiraTenants.defaultClient();
+        refreshJob = Flux.interval(Duration.ZERO, Duration.ofMillis(refreshMillis))
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh(jira))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refreshJob != null) refreshJob.dispose();
+    }
+
+    // The site's latest snapshot; never blocks or calls Jira itself
+    public Snapshot snapshot(JiraClient jira) {
+        Site site = site(jira);
+        if (enabled && jira != jiraTenants.defaultClient() && System.currentTimeMillis() - site.loadedAt >= refreshMillis) {
+            refresh(site, jira).subscribe();
+        }
+        return site.snapshot;
+    }
+
+    // Keyed by the project list too, so re-registering a site with other projects starts from its fallback
+    private Site site(JiraClient jira) {
+        return sites.computeIfAbsent(jira.tenantId() + "/" + jira.projects(), key -> new Site(fallback(jira)));
+    }
+
+    Mono<Void> refresh(JiraClient jira) {
+        return refresh(site(jira), jira);
+    }
+
+    // At most one load per site at a time; a failed load keeps the previous snapshot and is retried on the next interval
+    private Mono<Void> refresh(Site site, JiraClient jira) {
+        if (!site.loading.compareAndSet(false, true)) return Mono.empty();
+        long started = System.currentTimeMillis();
+        return load(jira, site.snapshot)
+                .doOnNext(snapshot -> {
+                    site.snapshot = snapshot;
+                    LOGGER.log(Level.FINE, "Jira metadata for {0} loaded ({1} projects)",
+                            new Object[]{jira.tenantId(), snapshot.projects.size()});
+                })
+                .doOnError(e -> LOGGER.log(Level.WARNING, "Jira metadata load failed for " + jira.tenantId() + ": " + e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .doFinally(signal -> {
+                    site.loadedAt = started; // Failures wait for the next interval too, instead of retrying on every read
+                    site.loading.set(false);
+                })
+                .then();
+    }
+
+    // Project list first (the previous one when Jira returns none), then each project's create screens.
+    // A project whose screens cannot be read (no permission, or a request shed under typeahead load) keeps
+    // its values from the previous snapshot instead of failing the whole load.
+    private Mono<Snapshot> load(JiraClient jira, Snapshot previous) {
+        Set<String> failed = ConcurrentHashMap.newKeySet();
+        return jira.createableProjects(MAX_OPTIONS)
+                .map(this::parseProjectPage)
+                .map(projects -> projects.isEmpty() ? previous.projects : projects)
+                .flatMap(projects -> Flux.fromIterable(projects)
+                        .concatMap(project -> screens(jira, project.getValue())
+                                .onErrorResume(e -> {
+                                    LOGGER.log(Level.WARNING, "Jira metadata for project " + project.getValue() + " of " + jira.tenantId()
+                                            + " failed, keeping its previous values: " + e.getMessage());
+                                    failed.add(project.getValue());
+                                    return Mono.just(List.of());
+                                }))
+                        .concatMapIterable(screens -> screens)
+                        .collectList()
+                        .map(screens -> build(projects, screens, failed, previous)));
+    }
+
+    private Mono<List<Screen>> screens(JiraClient jira, String projectKey) {
+        return jira.createMetaIssueTypes(projectKey)
+                .flatMapIterable(this::parseIssueTypes)
+                .flatMapSequential(type -> jira.createMetaFields(projectKey, type.getValue())
+                        .map(body -> parseScreen(projectKey, type.getLabel(), body)), CONCURRENCY)
+                .collectList();
+    }
+
+    // project/search page: values[] of {key, name}
+    private List<Option> parseProjectPage(String body) {
+        List<Option> projects = new ArrayList<>();
+        for (JsonNode project : page(body, "values")) {
+            String key = project.path("key").asText();
+            if (!key.isEmpty()) projects.add(new Option(project.path("name").asText(key), key));
+        }
+        return projects;
+    }
+
+    // Non-subtask issue types as Option(name, id)
+    private List<Option> parseIssueTypes(String body) {
+        List<Option> types = new ArrayList<>();
+        for (JsonNode type : page(body, "issueTypes")) {
+            if (type.path("subtask").asBoolean(false)) continue;
+            types.add(new Option(type.path("name").asText(), type.path("id").asText()));
+        }
+        return types;
+    }
+
+    private Screen parseScreen(String projectKey, String issueType, String body) {
+        Set<String> fieldIds = new HashSet<>();
+        List<String> priorities = new ArrayList<>();
+        String startDate = null;
+        for (JsonNode field : page(body, "fields")) {
+            String id = field.hasNonNull("fieldId") ? field.get("fieldId").asText() : field.path("key").asText();
+            fieldIds.add(id);
+            if ("priority".equals(id)) {
+                for (JsonNode value : field.path("allowedValues")) priorities.add(value.path("name").asText());
+            }
+            if (startDate == null && startDateFieldName.equalsIgnoreCase(field.path("name").asText())) startDate = id;
+        }
+        return new Screen(projectKey, issueType, fieldIds, priorities, startDate);
+    }
+
+    // createmeta pages list their items under a named array (older sites use "values")
+    private JsonNode page(String body, String name) {
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            return json.has(name) ? json.get(name) : json.path("values");
+        } catch (Exception e) {
+            throw new RuntimeException("Error parsing Jira createmeta: " + e.getMessage(), e);
+        }
+    }
+
+    // Kept per project: projects on one site can have different issue type schemes, priority schemes and screens
+    private Snapshot build(List<Option> projects, List<Screen> screens, Set<String> failed, Snapshot previous) {
+        Map<String, Set<String>> typeNames = new HashMap<>();
+        Map<String, Set<String>> priorityNames = new HashMap<>();
+        Map<String, String> startDates = new HashMap<>();
+        Map<String, Map<String, Set<String>>> fields = new HashMap<>();
+        for (Screen screen : screens) {
+            typeNames.computeIfAbsent(screen.projectKey, key -> new LinkedHashSet<>()).add(screen.issueType);
+            priorityNames.computeIfAbsent(screen.projectKey, key -> new LinkedHashSet<>()).addAll(screen.priorities);
+            if (screen.startDateField != null) startDates.putIfAbsent(screen.projectKey, screen.startDateField);
+            fields.computeIfAbsent(screen.projectKey, key -> new HashMap<>()).put(screen.issueType, Set.copyOf(screen.fieldIds));
+        }
+        Map<String, Project> byKey = new HashMap<>();
+        for (Option project : projects) {
+            String key = project.getValue();
+            if (failed.contains(key)) {
+                // Not read this time; without previous values the project gets the configured ones
+                if (previous.byProject.containsKey(key)) byKey.put(key, previous.byProject.get(key));
+                if (previous.fields.containsKey(key)) fields.put(key, previous.fields.get(key));
+                continue;
+            }
+            Set<String> types = typeNames.getOrDefault(key, Set.of());
+            Set<String> priorityValues = priorityNames.getOrDefault(key, Set.of());
+            byKey.put(key, new Project(types.isEmpty() ? issueTypes : options(types),
+                    priorityValues.isEmpty() ? priorities : options(priorityValues),
+                    startDates.getOrDefault(key, startDateField)));
+        }
+        return new Snapshot(projects, byKey, defaults(), labels, fields);
+    }
+
+    private Snapshot fallback(JiraClient jira) {
+        return new Snapshot(parseProjects(jira.projects()), Map.of(), defaults(), labels, Map.of());
+    }
+
+    private Project defaults() {
+        return new Project(issueTypes, priorities, startDateField);
+    }
+
+    // KEY=Label pairs, comma separated
+    static List<Option> parseProjects(String projects) {
+        List<Option> options = new ArrayList<>();
+        for (String entry : projects.split(",")) {
+            String[] parts = entry.split("=", 2);
+            String key = parts[0].trim();
+            if (!key.isEmpty()) {
+                options.add(new Option(parts.length > 1 ? parts[1].trim() : key, key));
+            }
+        }
+        return options;
+    }
+
+    private static List<Option> parseOptions(String names) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String name : names.split(",")) {
+            if (!name.trim().isEmpty()) unique.add(name.trim());
+        }
+        return options(unique);
+    }
+
+    private static List<Option> options(Set<String> names) {
+        return names.stream().limit(MAX_OPTIONS).map(name -> new Option(name, name)).collect(Collectors.toUnmodifiableList());
+    }
+
+    // Immutable view of one site's metadata
+    public static final class Snapshot {
+        private final List<Option> projects;
+        private final Map<String, Project> byProject;
+        private final Project defaults; // Configured values, for projects the last load did not cover
+        private final List<Option> labels;
+        private final Map<String, Map<String, Set<String>>> fields; // project -> issue type -> create-screen field ids
+
+        Snapshot(List<Option> projects, Map<String, Project> byProject, Project defaults, List<Option> labels,
+                 Map<String, Map<String, Set<String>>> fields) {
+            this.projects = List.copyOf(projects.size() > MAX_OPTIONS ? projects.subList(0, MAX_OPTIONS) : projects);
+            this.byProject = Collections.unmodifiableMap(byProject);
+            this.defaults = defaults;
+            this.labels = labels;
+            this.fields = Collections.unmodifiableMap(fields);
+        }
+
+        public List<Option> projects() {
+            return projects;
+        }
+
+        public List<Option> issueTypes(String projectKey) {
+            return project(projectKey).issueTypes;
+        }
+
+        public List<Option> priorities(String projectKey) {
+            return project(projectKey).priorities;
+        }
+
+        public List<Option> labels() {
+            return labels;
+        }
+
+        // Field id of the project's "Start date" custom field
+        public String startDateField(String projectKey) {
+            return project(projectKey).startDateField;
+        }
+
+        private Project project(String projectKey) {
+            return byProject.getOrDefault(projectKey, defaults);
+        }
+
+        // Whether the field can be set when creating this project/issue type; true when the screen is unknown
+        public boolean hasField(String projectKey, String issueType, String fieldId) {
+            Map<String, Set<String>> types = fields.get(projectKey);
+            Set<String> screen = types == null ? null : types.get(issueType);
+            return screen == null || screen.contains(fieldId);
+        }
+    }
+
+    static final class Project {
+        final List<Option> issueTypes;
+        final List<Option> priorities;
+        final String startDateField;
+
+        Project(List<Option> issueTypes, List<Option> priorities, String startDateField) {
+            this.issueTypes = issueTypes;
+            this.priorities = priorities;
+            this.startDateField = startDateField;
+        }
+    }
+
+    private static final class Site {
+        final AtomicBoolean loading = new AtomicBoolean();
+        volatile Snapshot snapshot;
+        volatile long loadedAt;
+
+        Site(Snapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+
+    private static final class Screen {
+        final String projectKey;
+        final String issueType;
+        final Set<String> fieldIds;
+        final List<String> priorities;
+        final String startDateField;
+
+        Screen(String projectKey, String issueType, Set<String> fieldIds, List<String> priorities, String startDateField) {
+            this.projectKey = projectKey;
+            this.issueType = issueType;
+            this.fieldIds = fieldIds;
+            this.priorities = priorities;
+            this.startDateField = startDateField;
+        }
+    }
+}
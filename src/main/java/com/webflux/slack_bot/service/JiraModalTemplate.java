@@ -0,0 +1,207 @@
+package com.webflux.slack_bot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webflux.slack_bot.model.Option;
+import com.webflux.slack_bot.util.JsonBytes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserter;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// The /botjira create modal, compiled once at startup into pre-encoded byte segments.
+// Per-request values are written between the segments directly into the outgoing buffer.
+@Component
+public class JiraModalTemplate {
+    // "{{name}}" as a whole JSON string is replaced by raw JSON; {{name}} inside a string by escaped text
+    public enum Slot {
+        TRIGGER_ID("trigger_id", false),
+        JIRA_HOST("jira_host", false),
+        PRIVATE_METADATA("private_metadata", false),
+        PROJECT_OPTIONS("project_options", true),
+        ISSUE_TYPE_OPTIONS("issue_type_options", true),
+        PRIORITY_OPTIONS("priority_options", true),
+        LABEL_OPTIONS("label_options", true);
+
+        private final String name;
+        private final boolean raw;
+
+        Slot(String name, boolean raw) {
+            this.name = name;
+            this.raw = raw;
+        }
+
+        String marker() {
+            return raw ? "\"{{" + name + "}}\"" : "{{" + name + "}}";
+        }
+    }
+
+    private static final byte[] OPTIONS_START = JsonBytes.utf8("[");
+    private static final byte[] OPTIONS_END = JsonBytes.utf8("]");
+    private static final byte[] OPTION_SEPARATOR = JsonBytes.utf8(",");
+    private static final byte[] OPTION_START = JsonBytes.utf8("{\"text\":{\"type\":\"plain_text\",\"text\":\"");
+    private static final byte[] OPTION_VALUE = JsonBytes.utf8("\"},\"value\":\"");
+    private static final byte[] OPTION_END = JsonBytes.utf8("\"}");
+
+    private final byte[][] segments; // Literal bytes around the slots; segments.length == slots.length + 1
+    private final Slot[] slots;
+    private final int literalLength;
+
+    @Autowired
+    public JiraModalTemplate(@Value("${slack.modal.template:classpath:slack/jira_ticket_modal.json}") Resource resource) throws IOException {
+        this(readCompact(resource));
+    }
+
+    public JiraModalTemplate(String view) {
+        String body = "{\"trigger_id\":\"" + Slot.TRIGGER_ID.marker() + "\",\"view\":" + view + "}";
+        List<byte[]> literals = new ArrayList<>();
+        List<Slot> found = new ArrayList<>();
+        int pos = 0;
+        while (true) {
+            Slot next = null;
+            int nextAt = -1;
+            for (Slot slot : Slot.values()) {
+                int at = body.indexOf(slot.marker(), pos);
+                if (at >= 0 && (nextAt < 0 || at < nextAt)) {
+                    next = slot;
+                    nextAt = at;
+                }
+            }
+            if (next == null) break;
+            literals.add(JsonBytes.utf8(body.substring(pos, nextAt)));
+            found.add(next);
+            pos = nextAt + next.marker().length();
+        }
+        literals.add(JsonBytes.utf8(body.substring(pos)));
+
+        this.segments = literals.toArray(new byte[0][]);
+        this.slots = found.toArray(new Slot[0]);
+        int total = 0;
+        for (byte[] segment : segments) total += segment.length;
+        this.literalLength = total;
+    }
+
+    // Body for POST views.open, rendered into the request's own buffer factory
+    public BodyInserter<Void, ReactiveHttpOutputMessage> viewsOpenBody(Values values) {
+        return (message, context) -> message.writeWith(Mono.fromSupplier(() -> write(message.bufferFactory(), values)));
+    }
+
+    public DataBuffer write(DataBufferFactory bufferFactory, Values values) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(literalLength + values.estimatedSize());
+        for (int i = 0; i < slots.length; i++) {
+            buffer.write(segments[i]);
+            writeSlot(buffer, slots[i], values);
+        }
+        buffer.write(segments[slots.length]);
+        return buffer;
+    }
+
+    private static void writeSlot(DataBuffer buffer, Slot slot, Values values) {
+        switch (slot) {
+            case TRIGGER_ID:
+                JsonBytes.writeEscaped(buffer, values.triggerId);
+                break;
+            case JIRA_HOST:
+                JsonBytes.writeEscaped(buffer, values.jiraHost);
+                break;
+            case PRIVATE_METADATA:
+                JsonBytes.writeEscaped(buffer, values.privateMetadata);
+                break;
+            case PROJECT_OPTIONS:
+                writeOptions(buffer, values.projects);
+                break;
+            case ISSUE_TYPE_OPTIONS:
+                writeOptions(buffer, values.issueTypes);
+                break;
+            case PRIORITY_OPTIONS:
+                writeOptions(buffer, values.priorities);
+                break;
+            case LABEL_OPTIONS:
+                writeOptions(buffer, values.labels);
+                break;
+        }
+    }
+
+    private static void writeOptions(DataBuffer buffer, List<Option> options) {
+        buffer.write(OPTIONS_START);
+        for (int i = 0; i < options.size(); i++) {
+            Option option = options.get(i);
+            if (i > 0) buffer.write(OPTION_SEPARATOR);
+            buffer.write(OPTION_START);
+            JsonBytes.writeEscaped(buffer, option.getLabel());
+            buffer.write(OPTION_VALUE);
+            JsonBytes.writeEscaped(buffer, option.getValue());
+            buffer.write(OPTION_END);
+        }
+        buffer.write(OPTIONS_END);
+    }
+
+    private static int optionsSize(List<Option> options) {
+        int size = 2;
+        for (Option option : options) {
+            size += OPTION_START.length + OPTION_VALUE.length + OPTION_END.length + 1
+                    + option.getLabel().length() + option.getValue().length();
+        }
+        return size;
+    }
+
+    // Parse and re-serialize so the pretty-printed resource is stored compact
+    private static String readCompact(Resource resource) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        try (InputStream in = resource.getInputStream()) {
+            return mapper.writeValueAsString(mapper.readTree(in));
+        }
+    }
+
+    // Per-request values injected into the template; the option lists come from the site's JiraMetadata snapshot
+    public static final class Values {
+        private final String triggerId;
+        private final String jiraHost;
+        private final List<Option> projects;
+        private final List<Option> issueTypes;
+        private final List<Option> priorities;
+        private final List<Option> labels;
+        private final String privateMetadata;
+
+        public Values(String triggerId, String jiraHost, List<Option> projects, List<Option> issueTypes,
+                      List<Option> priorities, List<Option> labels) {
+            this(triggerId, jiraHost, projects, issueTypes, priorities, labels, "");
+        }
+
+        public Values(String triggerId, String jiraHost, List<Option> projects, List<Option> issueTypes,
+                      List<Option> priorities, List<Option> labels, String privateMetadata) {
+            this.triggerId = triggerId == null ? "" : triggerId;
+            this.jiraHost = jiraHost == null ? "" : jiraHost;
+            this.projects = projects == null ? List.of() : projects;
+            this.issueTypes = issueTypes == null ? List.of() : issueTypes;
+            this.priorities = priorities == null ? List.of() : priorities;
+            this.labels = labels == null ? List.of() : labels;
+            this.privateMetadata = privateMetadata == null ? "" : privateMetadata;
+        }
+
+        // Issue types and priorities are the given project's (the modal opens with the site's default project)
+        public Values(String triggerId, String jiraHost, JiraMetadata.Snapshot metadata, String projectKey) {
+            this(triggerId, jiraHost, metadata, projectKey, "");
+        }
+
+        // privateMetadata comes back in the view_submission (e.g. the channel to report to)
+        public Values(String triggerId, String jiraHost, JiraMetadata.Snapshot metadata, String projectKey, String privateMetadata) {
+            this(triggerId, jiraHost, metadata.projects(), metadata.issueTypes(projectKey), metadata.priorities(projectKey),
+                    metadata.labels(), privateMetadata);
+        }
+
+        int estimatedSize() {
+            return triggerId.length() + jiraHost.length() + privateMetadata.length() + optionsSize(projects) + optionsSize(issueTypes)
+                    + optionsSize(priorities) + optionsSize(labels);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.webflux.slack_bot.service;
+
+import com.webflux.slack_bot.config.UpstreamClients;
+import com.webflux.slack_bot.util.Bulkhead;
+import com.webflux.slack_bot.util.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Maps a Slack workspace (team_id) to the Jira site it files tickets in.
+// Workspaces with jira.tenants.<teamId>.base-url/email/api-token[/project-key/projects] get their own client
+// and connection pool (settings under upstream.jira-tenant.*), created on first use and released
+// after jira.tenants.idle-timeout without requests and with none in flight. Everyone else shares the default jira.* site.
+// Each client gets "suggestions" and "writes" bulkheads configured by jira.bulkhead.<kind>.* and
+// jira.circuit-breaker.*.
+@Component
+public class JiraTenants {
+    private static final Logger LOGGER = Logger.getLogger(JiraTenants.class.getName());
+    public static final String DEFAULT = "default";
+    private static final String POOL_FAMILY = "jira-tenant";
+    private static final String SUGGESTIONS = "suggestions";
+    private static final String WRITES = "writes";
+
+    private final UpstreamClients upstreamClients;
+    private final Environment environment;
+    private final JiraClient defaultClient;
+    private final Duration idleTimeout;
+    private final Map<String, Optional<Site>> sites = new ConcurrentHashMap<>();
+    private final Map<String, Tenant> active = new ConcurrentHashMap<>();
+    private Disposable sweeper;
+
+    public JiraTenants(UpstreamClients upstreamClients, Environment environment,
+                       @Value("${jira.base-url}") String baseUrl,
+                       @Value("${jira.email}") String email,
+                       @Value("${jira.api-token}") String apiToken,
+                       @Value("${jira.project-key}") String projectKey,
+                       @Value("${jira.projects:BDP=Bot Demo Project (BDP),SCRUM=Jira Testing (SCRUM)}") String projects,
+                       @Value("${jira.tenants.idle-timeout:10m}") Duration idleTimeout) {
+        this.upstreamClients = upstreamClients;
+        this.environment = environment;
+        this.defaultClient = new JiraClient(DEFAULT, upstreamClients.jira(), baseUrl, email, apiToken, projectKey, projects,
+                bulkhead(DEFAULT, SUGGESTIONS), bulkhead(DEFAULT, WRITES));
+        this.idleTimeout = idleTimeout;
+    }
+
+    @PostConstruct
+    void start() {
+        Duration sweepInterval = idleTimeout.dividedBy(2);
+        sweeper = Flux.interval(sweepInterval, sweepInterval)
+                .subscribe(tick -> evictIdle(System.currentTimeMillis()));
+    }
+
+    @PreDestroy
+    void stop() {
+        if (sweeper != null) sweeper.dispose();
+    }
+
+    public JiraClient defaultClient() {
+        return defaultClient;
+    }
+
+    // Client for the workspace's Jira site; the default site for unknown or missing team ids
+    public JiraClient forTeam(String teamId) {
+        if (teamId == null || teamId.isEmpty()) return defaultClient;
+        Optional<Site> site = sites.computeIfAbsent(teamId, this::lookup);
+        if (site.isEmpty()) return defaultClient;
+        long now = System.currentTimeMillis();
+        // Pools are released inside a compute on this key too (see release()), so this never reuses a dying pool.
+        // The site is read inside the compute so a concurrent register/rotateCredentials is never missed.
+        return active.compute(teamId, (id, tenant) -> {
+            if (tenant == null) {
+                AtomicLong lastUsed = new AtomicLong();
+                tenant = new Tenant(create(id, sites.getOrDefault(id, site).orElseThrow(), lastUsed), lastUsed);
+            }
+            tenant.lastUsed.set(now);
+            return tenant;
+        }).client;
+    }
+
+    // Adds or replaces a workspace's site at runtime; an active client is released and rebuilt on next use
+    public void register(String teamId, String baseUrl, String email, String apiToken, String projectKey, String projects) {
+        sites.put(teamId, Optional.of(new Site(baseUrl, email, apiToken, projectKey, projects)));
+        active.computeIfPresent(teamId, (id, tenant) -> release(id));
+    }
+
+    // Swaps a site's credentials without a restart or a new pool; in-flight requests keep the old ones.
+    // A null, empty or "default" team id means the jira.* site. False when the workspace has no site of its own.
+    public boolean rotateCredentials(String teamId, String email, String apiToken) {
+        if (teamId == null || teamId.isEmpty() || DEFAULT.equals(teamId)) {
+            defaultClient.rotateCredentials(email, apiToken);
+            return true;
+        }
+        Optional<Site> current = sites.computeIfAbsent(teamId, this::lookup);
+        if (current.isEmpty()) return false;
+        active.compute(teamId, (id, tenant) -> {
+            Site site = sites.get(id).orElseThrow();
+            sites.put(id, Optional.of(new Site(site.baseUrl, email, apiToken, site.projectKey, site.projects)));
+            if (tenant != null) tenant.client.rotateCredentials(email, apiToken);
+            return tenant;
+        });
+        return true;
+    }
+
+    public int activeTenants() {
+        return active.size();
+    }
+
+    // Saturation and breaker state of every live bulkhead, keyed by "<tenant>/<kind>"
+    public Map<String, Bulkhead.Stats> bulkheadStats() {
+        Map<String, Bulkhead.Stats> stats = new LinkedHashMap<>();
+        stats.put(DEFAULT + "/" + SUGGESTIONS, defaultClient.suggestions().stats());
+        stats.put(DEFAULT + "/" + WRITES, defaultClient.writes().stats());
+        active.forEach((teamId, tenant) -> {
+            stats.put(teamId + "/" + SUGGESTIONS, tenant.client.suggestions().stats());
+            stats.put(teamId + "/" + WRITES, tenant.client.writes().stats());
+        });
+        return stats;
+    }
+
+    void evictIdle(long now) {
+        long cutoff = now - idleTimeout.toMillis();
+        for (String teamId : active.keySet()) {
+            active.computeIfPresent(teamId, (id, tenant) -> tenant.lastUsed.get() < cutoff && tenant.idle() ? release(id) : tenant);
+        }
+    }
+
+    // Called inside the compute that drops the tenant: a concurrent forTeam() waits on the key until the
+    // old pool is gone, then creates a fresh one
+    private Tenant release(String teamId) {
+        upstreamClients.release(poolName(teamId));
+        LOGGER.log(Level.FINE, "Released Jira tenant {0}", teamId);
+        return null;
+    }
+
+    private Optional<Site> lookup(String teamId) {
+        String prefix = "jira.tenants." + teamId + ".";
+        String baseUrl = environment.getProperty(prefix + "base-url");
+        if (baseUrl == null) return Optional.empty();
+        return Optional.of(new Site(baseUrl,
+                environment.getProperty(prefix + "email", ""),
+                environment.getProperty(prefix + "api-token", ""),
+                environment.getProperty(prefix + "project-key", defaultClient.projectKey()),
+                environment.getProperty(prefix + "projects", defaultClient.projects())));
+    }
+
+    // Every request also marks the tenant used, so callers holding the client (queued jobs, long bulk runs)
+    // keep its pool alive without going through forTeam() again
+    private JiraClient create(String teamId, Site site, AtomicLong lastUsed) {
+        LOGGER.log(Level.INFO, "Creating Jira client for tenant {0} -> {1}", new Object[]{teamId, site.baseUrl});
+        WebClient pooled = upstreamClients.client(poolName(teamId), POOL_FAMILY, site.baseUrl).mutate()
+                .filter((request, next) -> {
+                    lastUsed.set(System.currentTimeMillis());
+                    return next.exchange(request).doFinally(signal -> lastUsed.set(System.currentTimeMillis()));
+                })
+                .build();
+        return new JiraClient(teamId, pooled, site.baseUrl, site.email, site.apiToken, site.projectKey, site.projects,
+                bulkhead(teamId, SUGGESTIONS), bulkhead(teamId, WRITES));
+    }
+
+    // Suggestions fail fast when full; writes queue behind each other.
+    // By default each kind may use 40% of the pool's connections, so neither can take all of them.
+    private Bulkhead bulkhead(String tenantId, String kind) {
+        boolean suggestions = SUGGESTIONS.equals(kind);
+        String family = DEFAULT.equals(tenantId) ? UpstreamClients.JIRA : POOL_FAMILY;
+        int poolSize = environment.getProperty("upstream." + family + ".max-connections", Integer.class, 50);
+        String name = "jira[" + tenantId + "]/" + kind;
+        CircuitBreaker breaker = new CircuitBreaker(name,
+                environment.getProperty("jira.circuit-breaker.window", Integer.class, 20),
+                environment.getProperty("jira.circuit-breaker.min-calls", Integer.class, 10),
+                environment.getProperty("jira.circuit-breaker.failure-rate", Double.class, 50.0),
+                environment.getProperty("jira.circuit-breaker.open-duration", Duration.class, Duration.ofSeconds(30)),
+                environment.getProperty("jira.circuit-breaker.half-open-calls", Integer.class, 3));
+        breaker.onStateChange((from, to) -> LOGGER.log(to == CircuitBreaker.State.OPEN ? Level.WARNING : Level.INFO,
+                "Circuit {0}: {1} -> {2}", new Object[]{name, from, to}));
+        return new Bulkhead(name,
+                environment.getProperty("jira.bulkhead." + kind + ".max-concurrent", Integer.class, Math.max(1, poolSize * 2 / 5)),
+                environment.getProperty("jira.bulkhead." + kind + ".max-waiting", Integer.class, suggestions ? 0 : 100),
+                breaker, JiraClient::isUpstreamFailure);
+    }
+
+    private static String poolName(String teamId) {
+        return "jira-" + teamId;
+    }
+
+    private static final class Site {
+        final String baseUrl;
+        final String email;
+        final String apiToken;
+        final String projectKey;
+        final String projects;
+
+        Site(String baseUrl, String email, String apiToken, String projectKey, String projects) {
+            this.baseUrl = baseUrl;
+            this.email = email;
+            this.apiToken = apiToken;
+            this.projectKey = projectKey;
+            this.projects = projects;
+        }
+    }
+
+    private static final class Tenant {
+        final JiraClient client;
+        final AtomicLong lastUsed;
+
+        Tenant(JiraClient client, AtomicLong lastUsed) {
+            this.client = client;
+            this.lastUsed = lastUsed;
+        }
+
+        // JiraClient's calls hold a bulkhead permit (or wait for one) from start to finish, retries included
+        boolean idle() {
+            Bulkhead.Stats suggestions = client.suggestions().stats();
+            Bulkhead.Stats writes = client.writes().stats();
+            return suggestions.active + suggestions.waiting + writes.active + writes.waiting == 0;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.webflux.slack_bot.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Makes view_submission idempotent: a submission is keyed by its view id and a hash of the submitted values.
+// A duplicate that arrives while the ticket is being created attaches to the same in-flight Mono;
+// one that arrives afterwards (within the TTL) gets the created ticket's URL without a second Jira call.
+// The creation keeps running if the request that started it goes away. Failures are forgotten so they can be resubmitted.
+@Component
+public class SubmissionDeduplicator {
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder attached = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public SubmissionDeduplicator(@Value("${slack.submission.dedup-ttl:10m}") Duration ttl,
+                                  @Value("${slack.submission.dedup-max-size:10000}") int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    public static String key(String teamId, String viewId, Object values) {
+        return teamId + "|" + viewId + "|" + Integer.toHexString(values == null ? 0 : values.hashCode());
+    }
+
+    // Whether the submission is being or was recently processed
+    public boolean isDuplicate(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.isLive(System.nanoTime());
+    }
+
+    // The ticket URL for the submission; create runs at most once per key while an entry is live.
+    // The status is decided in the same step that finds or creates the entry, so callers can branch on it safely.
+    public Submission submit(String key, Supplier<Mono<String>> create) {
+        Status[] status = new Status[1];
+        Entry entry = entries.compute(key, (k, existing) -> {
+            if (existing != null && existing.isLive(System.nanoTime())) {
+                status[0] = existing.expiresAt == Long.MAX_VALUE ? Status.IN_FLIGHT : Status.COMPLETED;
+                return existing;
+            }
+            status[0] = Status.NEW;
+            Entry fresh = new Entry();
+            fresh.result = create(k, fresh, create); // Before it is visible, so duplicates always find a result
+            return fresh;
+        });
+        switch (status[0]) {
+            case IN_FLIGHT:
+                attached.increment();
+                break;
+            case COMPLETED:
+                replayed.increment();
+                break;
+            default:
+                if (entries.size() > maxSize) evict();
+                created.increment();
+        }
+        return new Submission(status[0], entry.result);
+    }
+
+    // Drops the key's entry, e.g. when its creation could not be scheduled
+    public void forget(String key) {
+        entries.remove(key);
+    }
+
+    public Stats stats() {
+        return new Stats(created.sum(), attached.sum(), replayed.sum(), evictions.sum(), entries.size());
+    }
+
+    private Mono<String> create(String key, Entry entry, Supplier<Mono<String>> create) {
+        return Mono.defer(create)
+                .doOnSuccess(url -> entry.expiresAt = System.nanoTime() + ttlNanos)
+                .doOnError(e -> entries.remove(key, entry))
+                .cache(); // Subscribers cancelling does not cancel the creation
+    }
+
+    // Drop expired entries first; if still full, drop the oldest-looking completed ones down to 90% of capacity.
+    // In-flight entries are never dropped, or a duplicate could start a second creation.
+    private void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(e -> !e.isLive(now));
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            if (it.next().expiresAt != Long.MAX_VALUE) {
+                it.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class Entry {
+        Mono<String> result;
+        volatile long expiresAt = Long.MAX_VALUE; // Set once the ticket exists
+
+        boolean isLive(long now) {
+            return expiresAt == Long.MAX_VALUE || expiresAt - now > 0;
+        }
+    }
+
+    public enum Status {
+        NEW,        // This call started the creation
+        IN_FLIGHT,  // A duplicate of a creation still running
+        COMPLETED   // A duplicate of a submission whose ticket already exists; result completes at once
+    }
+
+    public static final class Submission {
+        public final Status status;
+        public final Mono<String> result;
+
+        Submission(Status status, Mono<String> result) {
+            this.status = status;
+            this.result = result;
+        }
+    }
+
+    public static final class Stats {
+        public final long created;   // Submissions that went to Jira
+        public final long attached;  // Duplicates joined to a creation in flight
+        public final long replayed;  // Duplicates answered with an already-created ticket
+        public final long evictions;
+        public final int size;
+
+        Stats(long created, long attached, long replayed, long evictions, int size) {
+            this.created = created;
+            this.attached = attached;
+            this.replayed = replayed;
+            this.evictions = evictions;
+            this.size = size;
+        }
+
+        public long suppressed() {
+            return attached + replayed;
+        }
+    }
+}
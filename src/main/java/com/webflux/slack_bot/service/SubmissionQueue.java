@@ -0,0 +1,155 @@
+package com.webflux.slack_bot.service;
+
+import com.webflux.slack_bot.config.BlockingExecution;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Bounded work queue for acknowledged view submissions.
+// Jobs wait in a fixed-size buffer (submit() refuses when full) and are drained by their own
+// worker pool with at most `concurrency` jobs running at a time.
+@Component
+public class SubmissionQueue {
+    private static final Logger LOGGER = Logger.getLogger(SubmissionQueue.class.getName());
+
+    private final int capacity;
+    private final int concurrency;
+    private final Sinks.Many<Job> sink;
+    private Scheduler workers;
+    private Disposable consumer;
+
+    @Autowired(required = false)
+    private BlockingExecution blocking; // Virtual-thread workers when that mode is on
+
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder processingNanos = new LongAdder();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+
+    public SubmissionQueue(@Value("${slack.submission.queue-capacity:256}") int capacity,
+                           @Value("${slack.submission.concurrency:16}") int concurrency) {
+        this.capacity = capacity;
+        this.concurrency = concurrency;
+        this.sink = Sinks.many().unicast().onBackpressureBuffer(Queues.<Job>get(capacity).get());
+    }
+
+    @PostConstruct
+    void start() {
+        // Concurrency is capped by the flatMap below either way; virtual threads just make each worker cheap
+        workers = blocking != null && blocking.virtual()
+                ? blocking.scheduler()
+                : Schedulers.newBoundedElastic(concurrency, capacity, "submission-worker");
+        consumer = sink.asFlux()
+                .flatMap(job -> run(job).subscribeOn(workers), concurrency)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (consumer != null) consumer.dispose();
+        if (workers != null && (blocking == null || workers != blocking.scheduler())) workers.dispose(); // The shared one is BlockingExecution's
+    }
+
+    // False when the queue is full; the caller should ask the user to retry
+    public boolean submit(Mono<?> work) {
+        if (depth.incrementAndGet() > capacity) {
+            depth.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        Sinks.EmitResult result;
+        synchronized (sink) {
+            result = sink.tryEmitNext(new Job(work, System.nanoTime()));
+        }
+        if (result.isFailure()) {
+            depth.decrementAndGet();
+            rejected.increment();
+            LOGGER.log(Level.WARNING, "Submission rejected: {0}", result);
+            return false;
+        }
+        submitted.increment();
+        return true;
+    }
+
+    public Stats stats() {
+        return new Stats(depth.get(), running.get(), submitted.sum(), rejected.sum(), completed.sum(), failed.sum(),
+                queueWaitNanos.sum(), maxQueueWaitNanos.get(), processingNanos.sum());
+    }
+
+    private Mono<Void> run(Job job) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            long waited = start - job.enqueuedAt;
+            depth.decrementAndGet();
+            running.incrementAndGet();
+            queueWaitNanos.add(waited);
+            maxQueueWaitNanos.accumulateAndGet(waited, Math::max);
+            return job.work
+                    .doOnSuccess(v -> completed.increment())
+                    .doOnError(e -> {
+                        failed.increment();
+                        LOGGER.log(Level.SEVERE, "Submission job failed: " + e.getMessage(), e);
+                    })
+                    .onErrorResume(e -> Mono.empty())
+                    .doFinally(signal -> {
+                        running.decrementAndGet();
+                        processingNanos.add(System.nanoTime() - start);
+                    })
+                    .then();
+        });
+    }
+
+    private static final class Job {
+        final Mono<?> work;
+        final long enqueuedAt;
+
+        Job(Mono<?> work, long enqueuedAt) {
+            this.work = work;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    public static final class Stats {
+        public final int depth;
+        public final int running;
+        public final long submitted;
+        public final long rejected;
+        public final long completed;
+        public final long failed;
+        public final long queueWaitNanos;
+        public final long maxQueueWaitNanos;
+        public final long processingNanos;
+
+        Stats(int depth, int running, long submitted, long rejected, long completed, long failed,
+              long queueWaitNanos, long maxQueueWaitNanos, long processingNanos) {
+            this.depth = depth;
+            this.running = running;
+            this.submitted = submitted;
+            this.rejected = rejected;
+            this.completed = completed;
+            this.failed = failed;
+            this.queueWaitNanos = queueWaitNanos;
+            this.maxQueueWaitNanos = maxQueueWaitNanos;
+            this.processingNanos = processingNanos;
+        }
+    }
+}
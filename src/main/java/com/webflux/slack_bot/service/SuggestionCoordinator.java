@@ -0,0 +1,156 @@
+package com.webflux.slack_bot.service;
+
+import com.webflux.slack_bot.model.Option;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Cuts Jira search volume while users type into external selects:
+// - latest(): a newer keystroke from the same (user, view, action) cancels the older one's work
+// - search(): identical queries in flight share one Jira call (cancelled once nobody waits for it),
+//   and a query that extends an already-answered, untruncated query is filtered locally
+@Component
+public class SuggestionCoordinator {
+    private final Map<String, Sinks.One<Boolean>> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Mono<List<Option>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Result> recent;
+    private final long resultTtlMillis;
+
+    private final LongAdder fetched = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder superseded = new LongAdder();
+
+    public SuggestionCoordinator(@Value("${slack.suggestions.result-ttl:30s}") Duration resultTtl,
+                                 @Value("${slack.suggestions.max-results:5000}") int maxResults) {
+        this.resultTtlMillis = resultTtl.toMillis();
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Result> eldest) {
+                return size() > maxResults;
+            }
+        });
+    }
+
+    // "user|view|action" for a suggestion payload, or null when it can't be tied to a session
+    public static String sessionKey(String userId, String viewId, String actionId) {
+        if (userId == null || userId.isEmpty()) return null;
+        return userId + "|" + viewId + "|" + actionId;
+    }
+
+    // search() scope for one select of one project on one Jira site, so each project's results are cached apart
+    public static String scope(String tenantId, String projectKey, String actionId) {
+        return tenantId + "/" + projectKey + "/" + actionId;
+    }
+
+    // Completes empty if a newer request for the same session arrives first (its work is cancelled)
+    public <T> Mono<T> latest(String sessionKey, Mono<T> work) {
+        if (sessionKey == null) return work;
+        return Mono.defer(() -> {
+            Sinks.One<Boolean> mine = Sinks.one();
+            Sinks.One<Boolean> previous = sessions.put(sessionKey, mine);
+            if (previous != null && previous.tryEmitValue(true).isSuccess()) superseded.increment();
+            return work
+                    .takeUntilOther(mine.asMono())
+                    .doFinally(signal -> sessions.remove(sessionKey, mine));
+        });
+    }
+
+    // Options for the query within scope (e.g. scope(tenant, project, "parent_epic")). search returns at most limit options;
+    // a result shorter than that is complete, so longer queries starting with it can be answered from it.
+    // Pass limit 0 when completeness can't be told from the count (no prefix reuse, exact hits only).
+    public Mono<List<Option>> search(String scope, String query, int limit, Function<String, Mono<List<Option>>> search) {
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        List<Option> local = reuse(scope, normalized);
+        if (local != null) {
+            reused.increment();
+            return Mono.just(local);
+        }
+
+        String key = scope + "\u0000" + normalized;
+        AtomicReference<Mono<List<Option>>> self = new AtomicReference<>();
+        self.set(Flux.from(Mono.defer(() -> {
+                    fetched.increment();
+                    return search.apply(query);
+                })
+                .doOnNext(options -> recent.put(key, new Result(options, options.size() < limit, System.currentTimeMillis())))
+                .doFinally(signal -> inFlight.remove(key, self.get())))
+                .publish()
+                .refCount(1) // Last waiter cancelling cancels the Jira call
+                .next());
+        Mono<List<Option>> existing = inFlight.putIfAbsent(key, self.get());
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        return self.get();
+    }
+
+    public Stats stats() {
+        return new Stats(fetched.sum(), coalesced.sum(), reused.sum(), superseded.sum());
+    }
+
+    // Fresh exact result, or the longest fresh complete result for a prefix of the query, filtered locally
+    private List<Option> reuse(String scope, String normalized) {
+        long now = System.currentTimeMillis();
+        for (int end = normalized.length(); end >= 0; end--) {
+            Result result = recent.get(scope + "\u0000" + normalized.substring(0, end));
+            if (result == null || now - result.at > resultTtlMillis) continue;
+            if (end == normalized.length()) return result.options;
+            if (result.complete) return filter(result.options, normalized);
+        }
+        return null;
+    }
+
+    // Every query word must start some word of the label, as Jira's text search matches words
+    static List<Option> filter(List<Option> options, String normalized) {
+        String[] queryTokens = EpicIndex.tokenize(normalized);
+        return options.stream()
+                .filter(option -> {
+                    List<String> labelTokens = Arrays.asList(EpicIndex.tokenize(option.getLabel()));
+                    return Arrays.stream(queryTokens).allMatch(q -> labelTokens.stream().anyMatch(t -> t.startsWith(q)));
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static final class Result {
+        final List<Option> options;
+        final boolean complete;
+        final long at;
+
+        Result(List<Option> options, boolean complete, long at) {
+            this.options = options;
+            this.complete = complete;
+            this.at = at;
+        }
+    }
+
+    public static final class Stats {
+        public final long fetched;    // Searches sent to Jira
+        public final long coalesced;  // Joined an identical search in flight
+        public final long reused;     // Answered from an earlier result
+        public final long superseded; // Cancelled by a newer keystroke
+
+        Stats(long fetched, long coalesced, long reused, long superseded) {
+            this.fetched = fetched;
+            this.coalesced = coalesced;
+            this.reused = reused;
+            this.superseded = superseded;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.webflux.slack_bot.util;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+// Caps how many calls of one kind are in flight, so one traffic class cannot take every
+// upstream connection. Calls beyond maxConcurrent queue (up to maxWaiting, 0 = fail fast) and
+// every call first needs a permit from the bulkhead's circuit breaker.
+public class Bulkhead {
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final CircuitBreaker breaker;
+    private final Predicate<Throwable> isFailure;
+    private final Queue<Waiter> waiters = new ArrayDeque<>();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder shortCircuited = new LongAdder();
+    private int active;
+
+    // isFailure decides which errors count against the breaker (e.g. 5xx and timeouts, not 4xx)
+    public Bulkhead(String name, int maxConcurrent, int maxWaiting, CircuitBreaker breaker, Predicate<Throwable> isFailure) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+        this.breaker = breaker;
+        this.isFailure = isFailure;
+    }
+
+    public CircuitBreaker breaker() {
+        return breaker;
+    }
+
+    public <T> Mono<T> execute(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!breaker.tryAcquirePermission(System.nanoTime())) {
+                shortCircuited.increment();
+                return Mono.error(new RejectedException(name + " circuit is " + breaker.state()));
+            }
+            AtomicBoolean held = new AtomicBoolean();
+            return Mono.<Void>create(sink -> acquire(sink, held))
+                    .then(call)
+                    .doOnSuccess(value -> breaker.onSuccess())
+                    .doOnError(e -> {
+                        if (e instanceof RejectedException) breaker.onIgnored();
+                        else if (isFailure.test(e)) breaker.onFailure(System.nanoTime());
+                        else breaker.onSuccess();
+                    })
+                    .doOnCancel(breaker::onIgnored)
+                    .doFinally(signal -> {
+                        if (held.compareAndSet(true, false)) release();
+                    });
+        });
+    }
+
+    public Stats stats() {
+        int activeNow;
+        int waitingNow;
+        synchronized (this) {
+            activeNow = active;
+            waitingNow = waiters.size();
+        }
+        return new Stats(name, breaker.state(), activeNow, waitingNow, maxConcurrent, rejected.sum(), shortCircuited.sum());
+    }
+
+    private void acquire(MonoSink<Void> sink, AtomicBoolean held) {
+        boolean granted = false;
+        Waiter waiter = null;
+        synchronized (this) {
+            if (active < maxConcurrent) {
+                active++;
+                held.set(true);
+                granted = true;
+            } else if (waiters.size() < maxWaiting) {
+                waiter = new Waiter(sink, held);
+                waiters.add(waiter);
+            }
+        }
+        if (granted) {
+            sink.success();
+        } else if (waiter != null) {
+            Waiter queued = waiter;
+            // A waiter already handed a slot has held=true, so doFinally gives it back
+            sink.onCancel(() -> {
+                synchronized (this) {
+                    waiters.remove(queued);
+                }
+            });
+        } else {
+            rejected.increment();
+            sink.error(new RejectedException(name + " bulkhead is full (" + maxConcurrent + " running)"));
+        }
+    }
+
+    private void release() {
+        Waiter next;
+        synchronized (this) {
+            next = waiters.poll();
+            if (next == null) {
+                active--;
+                return;
+            }
+            next.held.set(true); // Slot passes straight to the next waiter
+        }
+        next.sink.success();
+    }
+
+    private static final class Waiter {
+        final MonoSink<Void> sink;
+        final AtomicBoolean held;
+
+        Waiter(MonoSink<Void> sink, AtomicBoolean held) {
+            this.sink = sink;
+            this.held = held;
+        }
+    }
+
+    // The call never reached the upstream: bulkhead full or circuit open
+    public static class RejectedException extends RuntimeException {
+        public RejectedException(String message) {
+            super(message);
+        }
+    }
+
+    public static final class Stats {
+        public final String name;
+        public final CircuitBreaker.State state;
+        public final int active;
+        public final int waiting;
+        public final int maxConcurrent;
+        public final long rejected;       // Bulkhead full
+        public final long shortCircuited; // Circuit open
+
+        Stats(String name, CircuitBreaker.State state, int active, int waiting, int maxConcurrent, long rejected, long shortCircuited) {
+            this.name = name;
+            this.state = state;
+            this.active = active;
+            this.waiting = waiting;
+            this.maxConcurrent = maxConcurrent;
+            this.rejected = rejected;
+            this.shortCircuited = shortCircuited;
+        }
+
+        public double saturation() {
+            return maxConcurrent == 0 ? 1 : (double) active / maxConcurrent;
+        }
+    }
+}
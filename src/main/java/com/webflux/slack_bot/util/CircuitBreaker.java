@@ -0,0 +1,120 @@
+package com.webflux.slack_bot.util;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+// Count-based circuit breaker: opens when the failure rate over the last `window` calls reaches the
+// threshold, rejects everything for `openDuration`, then lets `halfOpenCalls` probes through.
+// All probes succeeding closes it again; any probe failing re-opens it.
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final boolean[] outcomes; // Ring buffer, true = failure
+    private final int minCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final List<BiConsumer<State, State>> listeners = new CopyOnWriteArrayList<>();
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private int probesLeft;
+    private int probesSucceeded;
+
+    public CircuitBreaker(String name, int window, int minCalls, double failureRatePercent, Duration openDuration, int halfOpenCalls) {
+        this.name = name;
+        this.outcomes = new boolean[window];
+        this.minCalls = Math.min(minCalls, window);
+        this.failureRateThreshold = failureRatePercent;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    // Listeners run under the breaker's lock and must be quick (logging, counters)
+    public void onStateChange(BiConsumer<State, State> listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    // Whether a call may go out now; every permitted call must end in onSuccess, onFailure or onIgnored
+    public synchronized boolean tryAcquirePermission(long now) {
+        if (state == State.OPEN) {
+            if (now - openedAt < openNanos) return false;
+            probesLeft = halfOpenCalls;
+            probesSucceeded = 0;
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesLeft == 0) return false;
+            probesLeft--;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++probesSucceeded >= halfOpenCalls) {
+                resetWindow();
+                transition(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure(long now) {
+        if (state == State.HALF_OPEN) {
+            open(now);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minCalls && failures * 100.0 / recorded >= failureRateThreshold) open(now);
+        }
+    }
+
+    // A permitted call that ended without a verdict (cancelled, rejected locally): hand a probe back
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesLeft < halfOpenCalls - probesSucceeded) probesLeft++;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) failures--;
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) failures++;
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open(long now) {
+        openedAt = now;
+        transition(State.OPEN);
+    }
+
+    private void resetWindow() {
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+
+    private void transition(State to) {
+        State from = state;
+        if (from == to) return;
+        state = to;
+        for (BiConsumer<State, State> listener : listeners) listener.accept(from, to);
+    }
+}
@@ -0,0 +1,216 @@
+package com.webflux.slack_bot.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+// Append-only token log. Several nodes may share the file (e.g. a shared volume): each write is one
+// O_APPEND record, and every node tails the file from its last offset to see the others' writes.
+// Record: [int payloadLength][int crc32][byte op][int teamLen][team][int tokenLen][token]
+// A torn or corrupt record at the tail stops the scan; it is retried on the next refresh.
+// Reinstalls and removals only add records, so on startup a log holding more than twice as many records
+// as live tokens is rewritten to the live set and renamed over the old one. Appends hold a shared lock on
+// <path>.lock and compaction an exclusive one, so no write lands in a file being replaced; other nodes
+// notice the new file (by its file key) on their next refresh or write and reload it.
+public class FileTokenBackend implements TokenBackend {
+    private static final Logger LOGGER = Logger.getLogger(FileTokenBackend.class.getName());
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final int HEADER = 8;
+
+    private final Path path;
+    private final FileChannel lockChannel;
+    private final boolean fsync;
+    private final Map<String, String> live = new HashMap<>(); // Tokens in the file as of readOffset
+    private volatile BiConsumer<String, String> listener = (teamId, token) -> { };
+    private FileChannel appendChannel;
+    private FileChannel readChannel;
+    private Object fileKey; // null where the filesystem has none; compaction is then skipped
+    private long readOffset;
+    private long records;
+
+    public FileTokenBackend(Path path, boolean fsync) throws IOException {
+        this.path = path;
+        this.fsync = fsync;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        this.lockChannel = FileChannel.open(path.resolveSibling(path.getFileName() + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        open();
+    }
+
+    @Override
+    public synchronized Map<String, String> loadAll() throws IOException {
+        try (FileLock lock = lockChannel.lock(0, Long.MAX_VALUE, false)) {
+            if (replaced()) reopen();
+            live.clear();
+            records = 0;
+            readOffset = scan(0, (teamId, token) -> { });
+            LOGGER.log(Level.INFO, "Loaded {0} tokens from {1} ({2} bytes)", new Object[]{live.size(), path, readOffset});
+            if (fileKey != null && records > 2L * live.size()) compact();
+        }
+        return new HashMap<>(live);
+    }
+
+    @Override
+    public void save(String teamId, String token) throws IOException {
+        append(PUT, teamId, token);
+    }
+
+    @Override
+    public void remove(String teamId) throws IOException {
+        append(REMOVE, teamId, "");
+    }
+
+    @Override
+    public synchronized void refresh() throws IOException {
+        if (replaced()) {
+            reload();
+            return;
+        }
+        readOffset = scan(readOffset, listener);
+    }
+
+    @Override
+    public void watch(BiConsumer<String, String> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        appendChannel.close();
+        readChannel.close();
+        lockChannel.close();
+    }
+
+    private synchronized void append(byte op, String teamId, String token) throws IOException {
+        ByteBuffer record = record(op, teamId, token);
+        try (FileLock lock = lockChannel.lock(0, Long.MAX_VALUE, true)) {
+            if (replaced()) reload(); // Another node compacted; write to the new file
+            // Single write so concurrent appenders never interleave within a record
+            while (record.hasRemaining()) appendChannel.write(record);
+            if (fsync) appendChannel.force(false);
+        }
+    }
+
+    private static ByteBuffer record(byte op, String teamId, String token) {
+        byte[] team = teamId.getBytes(StandardCharsets.UTF_8);
+        byte[] value = token.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(1 + 4 + team.length + 4 + value.length);
+        payload.put(op).putInt(team.length).put(team).putInt(value.length).put(value).flip();
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+
+        ByteBuffer record = ByteBuffer.allocate(HEADER + payload.remaining());
+        record.putInt(payload.remaining()).putInt((int) crc.getValue()).put(payload).flip();
+        return record;
+    }
+
+    // Called with the exclusive lock held: writes the live set to a sibling file and renames it over the log
+    private void compact() throws IOException {
+        long before = records;
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<String, String> entry : live.entrySet()) {
+                ByteBuffer record = record(PUT, entry.getKey(), entry.getValue());
+                while (record.hasRemaining()) out.write(record);
+            }
+            out.force(true);
+        }
+        Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        reopen();
+        readOffset = readChannel.size();
+        records = live.size();
+        LOGGER.log(Level.INFO, "Compacted {0}: {1} records -> {2}", new Object[]{path, before, records});
+    }
+
+    // The log was replaced by another node's compaction: rescan it and report what changed since our last view
+    private void reload() throws IOException {
+        Map<String, String> previous = new HashMap<>(live);
+        reopen();
+        live.clear();
+        records = 0;
+        readOffset = scan(0, (teamId, token) -> { });
+        previous.keySet().stream().filter(teamId -> !live.containsKey(teamId)).forEach(teamId -> listener.accept(teamId, null));
+        live.forEach((teamId, token) -> {
+            if (!token.equals(previous.get(teamId))) listener.accept(teamId, token);
+        });
+    }
+
+    private void open() throws IOException {
+        appendChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        readChannel = FileChannel.open(path, StandardOpenOption.READ);
+        fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+    }
+
+    private void reopen() throws IOException {
+        appendChannel.close();
+        readChannel.close();
+        open();
+    }
+
+    private boolean replaced() throws IOException {
+        if (fileKey == null) return false;
+        try {
+            return !fileKey.equals(Files.readAttributes(path, BasicFileAttributes.class).fileKey());
+        } catch (NoSuchFileException e) {
+            return false; // Mid-rename or deleted; keep using the open file
+        }
+    }
+
+    // Applies complete records in [from, end of file) to the live set and the sink, and returns the offset after the last one
+    private long scan(long from, BiConsumer<String, String> sink) throws IOException {
+        long size = readChannel.size();
+        if (size <= from) return from;
+        ByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, from, size - from);
+        CRC32 crc = new CRC32();
+        long offset = from;
+        while (buffer.remaining() >= HEADER) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) break;
+
+            ByteBuffer payload = buffer.slice();
+            payload.limit(length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                LOGGER.log(Level.WARNING, "Corrupt token record in {0} at offset {1}", new Object[]{path, from + start});
+                break;
+            }
+            byte op = payload.get();
+            String teamId = string(payload);
+            String token = string(payload);
+            if (op == REMOVE) live.remove(teamId);
+            else live.put(teamId, token);
+            records++;
+            sink.accept(teamId, op == REMOVE ? null : token);
+
+            buffer.position(start + HEADER + length);
+            offset = from + buffer.position();
+        }
+        return offset;
+    }
+
+    private static String string(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
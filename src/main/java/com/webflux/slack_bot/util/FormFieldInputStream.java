@@ -0,0 +1,126 @@
+package com.webflux.slack_bot.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+// Streams one percent-decoded field out of an application/x-www-form-urlencoded body,
+// so e.g. Slack's payload=<json> can be handed to a JSON parser without decoding the body into Strings.
+// A body that starts with '{' is passed through as raw JSON.
+public class FormFieldInputStream extends InputStream {
+    private static final int SEARCHING = 0;
+    private static final int FORM_VALUE = 1;
+    private static final int RAW = 2;
+    private static final int DONE = 3;
+
+    private final InputStream in;
+    private final byte[] fieldName;
+    private final byte[] buffer = new byte[4096]; // Bulk reads; per-byte reads on DataBuffer streams are costly
+    private int position;
+    private int limit;
+    private int state = SEARCHING;
+    private int pending = -1; // First byte of a raw JSON body, consumed while sniffing
+
+    public FormFieldInputStream(InputStream in, String fieldName) {
+        this.in = in;
+        this.fieldName = fieldName.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (state == SEARCHING) locate();
+        switch (state) {
+            case RAW:
+                if (pending != -1) {
+                    int first = pending;
+                    pending = -1;
+                    return first;
+                }
+                return next();
+            case FORM_VALUE:
+                int b = next();
+                if (b == -1 || b == '&') {
+                    state = DONE;
+                    return -1;
+                }
+                if (b == '+') return ' ';
+                if (b == '%') return (hex(next()) << 4) | hex(next());
+                return b;
+            default:
+                return -1;
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) return 0;
+        if (state == RAW && pending == -1) {
+            if (position < limit) {
+                int n = Math.min(len, limit - position);
+                System.arraycopy(buffer, position, b, off, n);
+                position += n;
+                return n;
+            }
+            return in.read(b, off, len);
+        }
+        int count = 0;
+        while (count < len) {
+            int next = read();
+            if (next == -1) break;
+            b[off + count++] = (byte) next;
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int next() throws IOException {
+        if (position == limit) {
+            int n = in.read(buffer, 0, buffer.length);
+            if (n <= 0) return -1;
+            position = 0;
+            limit = n;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    // Skips fields until the wanted one; leaves the stream positioned at the start of its value
+    private void locate() throws IOException {
+        int first = next();
+        if (first == '{') {
+            state = RAW;
+            pending = first;
+            return;
+        }
+        int b = first;
+        while (b != -1) {
+            int matched = 0;
+            boolean mismatch = false;
+            while (b != -1 && b != '=' && b != '&') {
+                if (!mismatch && matched < fieldName.length && b == fieldName[matched]) {
+                    matched++;
+                } else {
+                    mismatch = true;
+                }
+                b = next();
+            }
+            if (b == '=' && !mismatch && matched == fieldName.length) {
+                state = FORM_VALUE;
+                return;
+            }
+            while (b != -1 && b != '&') b = next(); // Skip this field's value
+            if (b == '&') b = next();
+        }
+        state = DONE;
+    }
+
+    private static int hex(int c) throws IOException {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        throw new IOException("Malformed percent-encoding in form body");
+    }
+}
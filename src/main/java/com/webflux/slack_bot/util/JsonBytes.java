@@ -0,0 +1,75 @@
+package com.webflux.slack_bot.util;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.nio.charset.StandardCharsets;
+
+// Writes JSON string content as UTF-8 straight into a DataBuffer, without building intermediate Strings
+public final class JsonBytes {
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private JsonBytes() {
+    }
+
+    public static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Writes the escaped content of a JSON string (no surrounding quotes)
+    public static void writeEscaped(DataBuffer buffer, CharSequence s) {
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer.write((byte) '\\');
+                buffer.write((byte) c);
+            } else if (c < 0x20) {
+                writeControl(buffer, c);
+            } else if (c < 0x80) {
+                buffer.write((byte) c);
+            } else if (c < 0x800) {
+                buffer.write((byte) (0xC0 | (c >> 6)));
+                buffer.write((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buffer.write((byte) (0xF0 | (cp >> 18)));
+                buffer.write((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                buffer.write((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                buffer.write((byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.write((byte) '?'); // Unpaired surrogate, not encodable
+            } else {
+                buffer.write((byte) (0xE0 | (c >> 12)));
+                buffer.write((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.write((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static void writeControl(DataBuffer buffer, char c) {
+        buffer.write((byte) '\\');
+        switch (c) {
+            case '\n':
+                buffer.write((byte) 'n');
+                break;
+            case '\r':
+                buffer.write((byte) 'r');
+                break;
+            case '\t':
+                buffer.write((byte) 't');
+                break;
+            case '\b':
+                buffer.write((byte) 'b');
+                break;
+            case '\f':
+                buffer.write((byte) 'f');
+                break;
+            default:
+                buffer.write((byte) 'u');
+                buffer.write((byte) '0');
+                buffer.write((byte) '0');
+                buffer.write(HEX[c >> 4]);
+                buffer.write(HEX[c & 0xF]);
+        }
+    }
+}
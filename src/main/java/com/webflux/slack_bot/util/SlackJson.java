@@ -0,0 +1,76 @@
+package com.webflux.slack_bot.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.webflux.slack_bot.model.InteractionPayload;
+import com.webflux.slack_bot.model.ModalView;
+import com.webflux.slack_bot.model.Option;
+import com.webflux.slack_bot.model.OptionsResponse;
+import com.webflux.slack_bot.model.ResponseAction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+// Shared, immutable readers/writers for the Slack wire model. Blackbird replaces reflective
+// getter/constructor calls with generated lambdas, and the static block builds and warms every
+// (de)serializer at class load so the first Slack request doesn't pay for it.
+public final class SlackJson {
+    public static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new BlackbirdModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private static final ObjectReader PAYLOAD_READER = MAPPER.readerFor(InteractionPayload.class);
+    private static final ObjectWriter OPTIONS_WRITER = MAPPER.writerFor(OptionsResponse.class);
+    private static final ObjectWriter RESPONSE_WRITER = MAPPER.writerFor(ResponseAction.class);
+
+    static {
+        try {
+            PAYLOAD_READER.readValue("{\"type\":\"view_submission\",\"team\":{\"id\":\"T\"},\"user\":{\"id\":\"U\"},\"view\":{\"id\":\"V\","
+                    + "\"state\":{\"values\":{\"b\":{\"a\":{\"type\":\"static_select\",\"selected_option\":{\"text\":{\"type\":\"plain_text\",\"text\":\"x\"},\"value\":\"x\"},"
+                    + "\"selected_options\":[],\"value\":\"\",\"selected_date\":\"\",\"selected_user\":\"\"}}}}},\"actions\":[{\"action_id\":\"a\"}]}");
+            OPTIONS_WRITER.writeValueAsString(new OptionsResponse(List.of(new Option("x", "x"))));
+            RESPONSE_WRITER.writeValueAsString(ResponseAction.update(ModalView.message("x", "x")));
+            RESPONSE_WRITER.writeValueAsString(ResponseAction.error("b", "x"));
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private SlackJson() {
+    }
+
+    public static InteractionPayload readPayload(InputStream in) throws IOException {
+        return PAYLOAD_READER.readValue(in);
+    }
+
+    public static InteractionPayload readPayload(String json) throws IOException {
+        return PAYLOAD_READER.readValue(json);
+    }
+
+    public static InteractionPayload toPayload(JsonNode tree) throws IOException {
+        return PAYLOAD_READER.readValue(tree);
+    }
+
+    public static String options(List<Option> options) {
+        return write(OPTIONS_WRITER, options.isEmpty() ? OptionsResponse.EMPTY : new OptionsResponse(options));
+    }
+
+    public static String response(ResponseAction response) {
+        return write(RESPONSE_WRITER, response);
+    }
+
+    private static String write(ObjectWriter writer, Object value) {
+        try {
+            return writer.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.webflux.slack_bot.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+// Slack request signing: X-Slack-Signature = "v0=" + hex(HMAC-SHA256(secret, "v0:" + timestamp + ":" + body)).
+// Each thread keeps an initialised Mac and digest buffer, the body is fed from the request's own buffers,
+// and the header's hex is compared against the digest in constant time; a check allocates only a ByteBuffer view per chunk.
+public class SlackSignature {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int DIGEST_BYTES = 32;
+    private static final int HEADER_CHARS = 3 + DIGEST_BYTES * 2; // "v0=" + 64 hex digits
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<State> state;
+
+    public SlackSignature(String signingSecret) {
+        this.key = new SecretKeySpec(signingSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.state = ThreadLocal.withInitial(this::newState);
+        state.get(); // Fail at startup, not on the first request, if HmacSHA256 is unavailable
+    }
+
+    // Whether the timestamp (epoch seconds) is within tolerance of now; Slack asks for 5 minutes against replays
+    public static boolean isFresh(String timestamp, long nowSeconds, long toleranceSeconds) {
+        if (timestamp == null || timestamp.isEmpty() || timestamp.length() > 18) return false;
+        long seconds = 0;
+        for (int i = 0; i < timestamp.length(); i++) {
+            char c = timestamp.charAt(i);
+            if (c < '0' || c > '9') return false;
+            seconds = seconds * 10 + (c - '0');
+        }
+        return Math.abs(nowSeconds - seconds) <= toleranceSeconds;
+    }
+
+    // body buffers are read through duplicates, so their positions are left untouched
+    public boolean verify(String timestamp, String signature, List<ByteBuffer> body) {
+        if (signature == null || signature.length() != HEADER_CHARS || !signature.startsWith("v0=")) return false;
+        State s = state.get();
+        Mac mac = s.mac;
+        mac.update(s.prefix, 0, s.prefix.length);
+        for (int i = 0; i < timestamp.length(); i++) mac.update((byte) timestamp.charAt(i));
+        mac.update((byte) ':');
+        for (ByteBuffer buffer : body) mac.update(buffer.duplicate());
+        try {
+            mac.doFinal(s.digest, 0); // Also resets the Mac for the next request on this thread
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        int diff = 0;
+        for (int i = 0; i < DIGEST_BYTES; i++) {
+            int high = hexValue(signature.charAt(3 + 2 * i));
+            int low = hexValue(signature.charAt(4 + 2 * i));
+            diff |= ((high << 4) | low) ^ (s.digest[i] & 0xff);
+            diff |= (high | low) & 0x100; // Invalid hex digit
+        }
+        return diff == 0;
+    }
+
+    // 0-15 for a lowercase hex digit, 0x100 otherwise (branches only on the caller-supplied header, never the digest)
+    private static int hexValue(char c) {
+        int digit = c - '0';
+        int letter = c - 'a' + 10;
+        boolean isDigit = digit >= 0 && digit <= 9;
+        boolean isLetter = letter >= 10 && letter <= 15;
+        return isDigit ? digit : isLetter ? letter : 0x100;
+    }
+
+    private State newState() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return new State(mac);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+        }
+    }
+
+    private static final class State {
+        final Mac mac;
+        final byte[] prefix = "v0:".getBytes(StandardCharsets.US_ASCII);
+        final byte[] digest = new byte[DIGEST_BYTES];
+
+        State(Mac mac) {
+            this.mac = mac;
+        }
+    }
+}
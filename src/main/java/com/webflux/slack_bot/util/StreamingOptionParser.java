@@ -0,0 +1,218 @@
+package com.webflux.slack_bot.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.webflux.slack_bot.model.Option;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Extracts Options from Jira responses while the body streams in, using Jackson's non-blocking parser.
+// Neither the body String nor a JsonNode tree is materialized; only matched values become Strings.
+public final class StreamingOptionParser {
+    private static final Logger LOGGER = Logger.getLogger(StreamingOptionParser.class.getName());
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String ARRAY_ELEMENT = "[]";
+
+    // /search -> "Summary (KEY)" / KEY
+    public static final StreamingOptionParser SEARCH_ISSUES = new StreamingOptionParser(
+            "issues[]", "key", "fields.summary", (key, summary) -> new Option(summary + " (" + key + ")", key), false);
+    // /project/{key}/components -> name / name
+    public static final StreamingOptionParser COMPONENTS = new StreamingOptionParser(
+            "[]", "name", "name", (name, unused) -> new Option(name, name), false);
+    // /search on customfield_10001 -> unique team name / id
+    public static final StreamingOptionParser SEARCH_TEAMS = new StreamingOptionParser(
+            "issues[]", "fields.customfield_10001.id", "fields.customfield_10001.name", (id, name) -> new Option(name, id), true);
+
+    private final String[] elementPath;
+    private final String[] firstPath;
+    private final String[] secondPath;
+    private final BiFunction<String, String, Option> mapper;
+    private final boolean distinct;
+
+    public StreamingOptionParser(String elementPath, String firstField, String secondField,
+                                 BiFunction<String, String, Option> mapper, boolean distinct) {
+        this.elementPath = segments(elementPath);
+        this.firstPath = concat(this.elementPath, firstField.split("\\."));
+        this.secondPath = concat(this.elementPath, secondField.split("\\."));
+        this.mapper = mapper;
+        this.distinct = distinct;
+    }
+
+    public Mono<List<Option>> parse(Flux<DataBuffer> body) {
+        return body
+                .reduceWith(this::newState, (state, buffer) -> {
+                    try {
+                        state.feed(buffer);
+                    } finally {
+                        DataBufferUtils.release(buffer);
+                    }
+                    return state;
+                })
+                .map(State::finish)
+                .onErrorResume(UncheckedIOException.class, e -> {
+                    LOGGER.log(Level.WARNING, "Error parsing Jira response: " + e.getMessage());
+                    return Mono.just(new ArrayList<>());
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private State newState() {
+        try {
+            return new State(JSON_FACTORY.createNonBlockingByteArrayParser());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // "issues[]" -> [issues, []]; "[]" -> [[]]
+    private static String[] segments(String path) {
+        List<String> out = new ArrayList<>();
+        for (String part : path.split("\\.")) {
+            if (part.endsWith(ARRAY_ELEMENT)) {
+                String name = part.substring(0, part.length() - 2);
+                if (!name.isEmpty()) out.add(name);
+                out.add(ARRAY_ELEMENT);
+            } else {
+                out.add(part);
+            }
+        }
+        return out.toArray(new String[0]);
+    }
+
+    private static String[] concat(String[] a, String[] b) {
+        String[] out = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, out, a.length, b.length);
+        return out;
+    }
+
+    private final class State {
+        final JsonParser parser;
+        final ByteArrayFeeder feeder;
+        byte[] scratch = new byte[8192];
+
+        // Path of the current position: one segment per open container, plus the pending field name
+        String[] path = new String[16];
+        boolean[] isArray = new boolean[16];
+        int depth;
+        String fieldName;
+
+        String first;
+        String second;
+        final List<Option> options = new ArrayList<>();
+
+        State(JsonParser parser) {
+            this.parser = parser;
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        void feed(DataBuffer buffer) {
+            int length = buffer.readableByteCount();
+            if (scratch.length < length) scratch = new byte[length];
+            buffer.read(scratch, 0, length);
+            try {
+                feeder.feedInput(scratch, 0, length);
+                drain();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        List<Option> finish() {
+            try {
+                feeder.endOfInput();
+                drain();
+                parser.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return distinct ? new ArrayList<>(new LinkedHashSet<>(options)) : options;
+        }
+
+        // The parser copies partial tokens internally, so scratch can be reused once drained
+        private void drain() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                switch (token) {
+                    case FIELD_NAME:
+                        fieldName = parser.getCurrentName();
+                        break;
+                    case START_OBJECT:
+                    case START_ARRAY:
+                        push(token == JsonToken.START_ARRAY);
+                        break;
+                    case END_OBJECT:
+                    case END_ARRAY:
+                        pop();
+                        break;
+                    case VALUE_NULL:
+                        break;
+                    default:
+                        onScalar();
+                }
+            }
+        }
+
+        private void push(boolean array) {
+            if (depth > 0) {
+                // Root container has no segment; children are named by field, array items by "[]"
+                ensureCapacity();
+                path[depth - 1] = isArray[depth - 1] ? ARRAY_ELEMENT : fieldName;
+            }
+            ensureCapacity();
+            isArray[depth] = array;
+            depth++;
+        }
+
+        private void pop() {
+            // Leaving an element object: emit if both values were seen
+            if (depth - 1 == elementPath.length && matches(elementPath, elementPath.length)) {
+                if (first != null && second != null) options.add(mapper.apply(first, second));
+                first = null;
+                second = null;
+            }
+            depth--;
+        }
+
+        private void onScalar() throws IOException {
+            if (depth == 0) return;
+            int length = depth; // container segments (depth - 1) + this value's own segment
+            String own = isArray[depth - 1] ? ARRAY_ELEMENT : fieldName;
+            if (length == firstPath.length && own.equals(firstPath[length - 1]) && matches(firstPath, length - 1)) {
+                first = parser.getText();
+            }
+            if (length == secondPath.length && own.equals(secondPath[length - 1]) && matches(secondPath, length - 1)) {
+                second = parser.getText();
+            }
+        }
+
+        // Whether the first n open-container segments equal expected[0..n)
+        private boolean matches(String[] expected, int n) {
+            if (depth - 1 < n) return false;
+            for (int i = 0; i < n; i++) {
+                if (!expected[i].equals(path[i])) return false;
+            }
+            return true;
+        }
+
+        private void ensureCapacity() {
+            if (depth >= path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+                isArray = Arrays.copyOf(isArray, isArray.length * 2);
+            }
+        }
+    }
+}
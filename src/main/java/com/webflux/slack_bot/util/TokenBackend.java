@@ -0,0 +1,50 @@
+package com.webflux.slack_bot.util;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+// Storage behind TokenStore. Only touched on a near-cache miss, a write, or a refresh;
+// changes made by other nodes are reported through the watch listener (token == null means removed).
+public interface TokenBackend extends AutoCloseable {
+
+    // Every stored token, used to warm the near-cache on startup
+    Map<String, String> loadAll() throws IOException;
+
+    void save(String teamId, String token) throws IOException;
+
+    void remove(String teamId) throws IOException;
+
+    // Picks up changes written by other nodes since the last call and reports them to the listener
+    void refresh() throws IOException;
+
+    void watch(BiConsumer<String, String> listener);
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    // Nothing persisted: tokens live only in the near-cache (the old behaviour)
+    TokenBackend IN_MEMORY = new TokenBackend() {
+        @Override
+        public Map<String, String> loadAll() {
+            return Map.of();
+        }
+
+        @Override
+        public void save(String teamId, String token) {
+        }
+
+        @Override
+        public void remove(String teamId) {
+        }
+
+        @Override
+        public void refresh() {
+        }
+
+        @Override
+        public void watch(BiConsumer<String, String> listener) {
+        }
+    };
+}
@@ -0,0 +1,74 @@
+package com.webflux.slack_bot.util;
+
+// Token bucket whose refill rate adapts to the upstream: halved on every throttle (429) and
+// paused until Retry-After, then crept back up towards the configured rate on each success.
+// Callers that may wait reserve a token up front (tokens can go negative), which spaces them out.
+public class TokenBucket {
+    public enum Priority {
+        CRITICAL,    // Writes the user is waiting on; may use the reserve
+        NORMAL,      // Waits for a token above half the reserve
+        BEST_EFFORT  // Typeahead/background: never waits, shed once the bucket is down to the reserve
+    }
+
+    private static final double RECOVERY_STEP = 0.05; // Fraction of the configured rate regained per success
+
+    private final double burst;
+    private final double maxRate;  // Tokens per nanosecond
+    private final double minRate;
+    private final double reserve;
+    private double tokens;
+    private double rate;
+    private long lastRefill;
+    private long pausedUntil;
+
+    public TokenBucket(double perSecond, double burst, double reserveFraction, long now) {
+        this.burst = Math.max(1, burst);
+        this.maxRate = perSecond / 1e9;
+        this.minRate = maxRate / 16;
+        this.reserve = this.burst * reserveFraction;
+        this.tokens = this.burst;
+        this.rate = maxRate;
+        this.lastRefill = now;
+        this.pausedUntil = now;
+    }
+
+    // Nanoseconds to wait before sending (0 = now), or -1 if the call should be shed
+    // because it is best-effort or could not get a token within budgetNanos
+    public synchronized long acquire(Priority priority, long now, long budgetNanos) {
+        refill(now);
+        double floor = priority == Priority.CRITICAL ? 0 : priority == Priority.NORMAL ? reserve / 2 : reserve;
+        long pause = Math.max(0, pausedUntil - now);
+        if (pause == 0 && tokens - 1 >= floor) {
+            tokens -= 1;
+            return 0;
+        }
+        if (priority == Priority.BEST_EFFORT) return -1;
+        double deficit = Math.max(0, floor + 1 - tokens);
+        long wait = pause + (long) (deficit / rate);
+        if (wait > budgetNanos) return -1;
+        tokens -= 1;
+        return wait;
+    }
+
+    public synchronized void onThrottled(long retryAfterNanos, long now) {
+        refill(now);
+        pausedUntil = Math.max(pausedUntil, now + retryAfterNanos);
+        rate = Math.max(minRate, rate / 2);
+        tokens = Math.min(tokens, 0);
+    }
+
+    public synchronized void onSuccess() {
+        rate = Math.min(maxRate, rate + maxRate * RECOVERY_STEP);
+    }
+
+    public synchronized double currentRatePerSecond() {
+        return rate * 1e9;
+    }
+
+    // No refill while paused
+    private void refill(long now) {
+        long from = Math.max(lastRefill, Math.min(pausedUntil, now));
+        if (now > from) tokens = Math.min(burst, tokens + (now - from) * rate);
+        lastRefill = Math.max(lastRefill, now);
+    }
+}
@@ -1,15 +1,99 @@
 package com.webflux.slack_bot.util;
 
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+// Bot tokens by Slack team id. Reads are served from an in-memory near-cache and never touch the backend;
+// a miss schedules a backend refresh on boundedElastic, so a token installed on another node shows up on a
+// later lookup. Writes block on the backend (the file log fsyncs), so callers on the event loop must hop off it first.
 public class TokenStore {
+    private static final Logger LOGGER = Logger.getLogger(TokenStore.class.getName());
+    private static final int MAX_MISSES = 10_000;
     private static final Map<String, String> tokens = new ConcurrentHashMap<>();
+    private static final Map<String, Long> misses = new ConcurrentHashMap<>(); // teamId -> nanoTime the miss expires
+    private static volatile TokenBackend backend = TokenBackend.IN_MEMORY;
+    private static volatile long missTtlNanos = Duration.ofSeconds(5).toNanos();
+    private static final AtomicBoolean refreshing = new AtomicBoolean();
+
+    // Swaps in a backend and warms the near-cache from it
+    public static void install(TokenBackend tokenBackend) throws IOException {
+        Map<String, String> stored = tokenBackend.loadAll();
+        tokens.putAll(stored);
+        misses.clear();
+        tokenBackend.watch(TokenStore::apply);
+        backend = tokenBackend;
+    }
+
+    // missTtl: how long an unknown team is answered from memory before a miss refreshes the backend again.
+    // Matching the background refresh interval loses nothing, since the poll would pick up the install by then.
+    public static void install(TokenBackend tokenBackend, Duration missTtl) throws IOException {
+        missTtlNanos = missTtl.toNanos();
+        install(tokenBackend);
+    }
 
     public static void storeToken(String teamId, String accessToken) {
+        try {
+            backend.save(teamId, accessToken);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not persist token for team " + teamId, e);
+        }
         tokens.put(teamId, accessToken);
     }
+
+    public static void removeToken(String teamId) {
+        try {
+            backend.remove(teamId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not remove token for team " + teamId, e);
+        }
+        tokens.remove(teamId);
+    }
+
+    // Never blocks: callers include handlers on the event loop
     public static String getToken(String teamId) {
-        return tokens.get(teamId);
+        String token = tokens.get(teamId);
+        if (token != null) return token;
+        // Miss: the install may have happened on another node since the last refresh. Catch up in the
+        // background, and remember the miss so repeated lookups for an unknown team don't refresh each time.
+        long now = System.nanoTime();
+        Long expiresAt = misses.get(teamId);
+        if (expiresAt != null && expiresAt - now > 0) return null;
+        if (misses.size() >= MAX_MISSES) misses.clear();
+        misses.put(teamId, now + missTtlNanos);
+        if (refreshing.compareAndSet(false, true)) {
+            Schedulers.boundedElastic().schedule(() -> {
+                try {
+                    refresh();
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+        return null;
+    }
+
+    public static void refresh() {
+        try {
+            backend.refresh();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Token store refresh failed: " + e.getMessage());
+        }
+    }
+
+    public static int size() {
+        return tokens.size();
+    }
+
+    private static void apply(String teamId, String token) {
+        if (token == null) tokens.remove(teamId);
+        else tokens.put(teamId, token);
     }
 }
@@ -1,13 +1,31 @@
 package com.webflux.slack_bot;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
 
 @SpringBootTest
+@AutoConfigureWebTestClient
 class SlackBotApplicationTests {
 
+    @Autowired
+    private WebTestClient client;
+
     @Test
     void contextLoads() {
     }
 
+    @Test
+    void interactiveAcceptsSlackFormPosts() {
+        client.post().uri("/slack/interactive")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .bodyValue("payload=%7B%22type%22%3A%22message_action%22%2C%22team%22%3A%7B%22id%22%3A%22T0001%22%7D%7D")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("{}");
+    }
+
 }
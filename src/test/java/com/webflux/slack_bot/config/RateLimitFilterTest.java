@@ -0,0 +1,122 @@
+package com.webflux.slack_bot.config;
+
+import com.webflux.slack_bot.util.TokenBucket;
+import com.webflux.slack_bot.util.TokenBucket.Priority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the filter against a local Reactor Netty server that scripts 429/503 responses
+class RateLimitFilterTest {
+    private final AtomicInteger calls = new AtomicInteger();
+    private DisposableServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) server.disposeNow();
+    }
+
+    @Test
+    void retriesThrottledCallsAfterRetryAfter() {
+        // First call is throttled for 1s, the second succeeds
+        server = start(call -> call == 1 ? 429 : 200);
+        RateLimitFilter filter = filter(600, 10, Duration.ofSeconds(5));
+
+        long start = System.nanoTime();
+        StepVerifier.create(client(filter).post().uri("/issue").retrieve().bodyToMono(String.class))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertTrue(System.nanoTime() - start >= Duration.ofSeconds(1).toNanos());
+        assertEquals(2, calls.get());
+        assertEquals(1, filter.stats().throttled);
+        assertEquals(1, filter.stats().retried);
+    }
+
+    @Test
+    void serverErrorsAreRetriedOnlyForIdempotentCalls() {
+        server = start(call -> call == 1 ? 503 : 200);
+        RateLimitFilter filter = filter(600, 10, Duration.ofSeconds(5));
+
+        StepVerifier.create(client(filter).post().uri("/issue").retrieve().bodyToMono(String.class))
+                .expectError(WebClientResponseException.ServiceUnavailable.class)
+                .verify();
+        assertEquals(1, calls.get());
+
+        calls.set(0);
+        StepVerifier.create(client(filter).post().uri("/search").attribute(RateLimitFilter.IDEMPOTENT, true)
+                        .retrieve().bodyToMono(String.class))
+                .expectNext("ok")
+                .verifyComplete();
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void bestEffortCallsAreShedBeforeCriticalOnes() {
+        server = start(call -> 200);
+        // Burst of 5 with a 20% reserve; refill is far too slow to matter during the test
+        RateLimitFilter filter = filter(0.001, 5, Duration.ofSeconds(5));
+        WebClient client = client(filter);
+
+        for (int i = 0; i < 4; i++) { // 5 tokens, 1 held back
+            StepVerifier.create(client.get().uri("/search").attribute(RateLimitFilter.PRIORITY, Priority.BEST_EFFORT)
+                            .retrieve().bodyToMono(String.class))
+                    .expectNext("ok")
+                    .verifyComplete();
+        }
+        StepVerifier.create(client.get().uri("/search").attribute(RateLimitFilter.PRIORITY, Priority.BEST_EFFORT)
+                        .retrieve().bodyToMono(String.class))
+                .expectError(RateLimitFilter.RateLimitedException.class)
+                .verify();
+        // The reserve is still there for ticket creation
+        StepVerifier.create(client.post().uri("/issue").attribute(RateLimitFilter.PRIORITY, Priority.CRITICAL)
+                        .retrieve().bodyToMono(String.class))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertEquals(1, filter.stats().shed);
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    void retryAfterAcceptsSecondsAndDefaultsWhenMissing() {
+        assertEquals(Duration.ofSeconds(30).toNanos(), RateLimitFilter.retryAfterNanos("30"));
+        assertEquals(Duration.ofSeconds(1).toNanos(), RateLimitFilter.retryAfterNanos(null));
+        assertEquals(Duration.ofSeconds(1).toNanos(), RateLimitFilter.retryAfterNanos("soon"));
+    }
+
+    private DisposableServer start(java.util.function.IntUnaryOperator statusForCall) {
+        return HttpServer.create()
+                .port(0)
+                .handle((request, response) -> {
+                    int status = statusForCall.applyAsInt(calls.incrementAndGet());
+                    if (status == 429) response.header("Retry-After", "1");
+                    return response.status(status).sendString(Mono.just(status == 200 ? "ok" : "error"));
+                })
+                .bindNow();
+    }
+
+    private RateLimitFilter filter(double perSecond, double burst, Duration deadline) {
+        return new RateLimitFilter("test", RateLimitFilter::jiraTier,
+                tier -> new TokenBucket(perSecond, burst, 0.2, System.nanoTime()),
+                3, Duration.ofMillis(10), deadline);
+    }
+
+    private WebClient client(RateLimitFilter filter) {
+        return WebClient.builder()
+                .baseUrl("http://localhost:" + server.port())
+                .filter(filter)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.webflux.slack_bot.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SlackSignatureFilterTest {
+    private static final String SECRET = "8f742231b10e8888abcd99yyyzzz85a5";
+    private static final String BODY = "token=xyz&team_id=T1&command=%2Fbotjira&text=create";
+
+    private final AtomicReference<String> seen = new AtomicReference<>();
+    private final WebTestClient client = WebTestClient
+            .bindToWebHandler(exchange -> read(exchange).then(exchange.getResponse().setComplete()))
+            .webFilter(new SlackSignatureFilter(SECRET, Duration.ofMinutes(5), 1024))
+            .build();
+
+    @Test
+    void signedRequestsReachTheHandlerWithTheirBodyAndFormData() {
+        String timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+        post(timestamp, sign(timestamp, BODY), BODY).expectStatus().isOk();
+        assertEquals("T1 /botjira", seen.get());
+
+        String json = "{\"type\":\"block_suggestion\",\"value\":\"bil\"}";
+        client.post().uri("/slack/options/epics")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Slack-Request-Timestamp", timestamp)
+                .header("X-Slack-Signature", sign(timestamp, json))
+                .bodyValue(json)
+                .exchange()
+                .expectStatus().isOk();
+        assertEquals(json, seen.get());
+    }
+
+    @Test
+    void forgedStaleAndOversizedRequestsAreRejected() {
+        String now = String.valueOf(System.currentTimeMillis() / 1000);
+        post(now, sign(now, BODY), BODY.replace("T1", "T2")).expectStatus().isUnauthorized();
+        post(now, "v0=" + "0".repeat(64), BODY).expectStatus().isUnauthorized();
+
+        String stale = String.valueOf(System.currentTimeMillis() / 1000 - 600);
+        post(stale, sign(stale, BODY), BODY).expectStatus().isUnauthorized();
+
+        String large = BODY + "&x=" + "a".repeat(2048);
+        post(now, sign(now, large), large).expectStatus().isEqualTo(413);
+        assertNull(seen.get());
+    }
+
+    private WebTestClient.ResponseSpec post(String timestamp, String signature, String body) {
+        return client.post().uri("/slack/command")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .header("X-Slack-Request-Timestamp", timestamp)
+                .header("X-Slack-Signature", signature)
+                .bodyValue(body)
+                .exchange();
+    }
+
+    // Form posts are read through getFormData, anything else as the raw body
+    private Mono<Void> read(ServerWebExchange exchange) {
+        if (MediaType.APPLICATION_FORM_URLENCODED.equals(exchange.getRequest().getHeaders().getContentType())) {
+            return exchange.getFormData()
+                    .doOnNext(form -> seen.set(form.getFirst("team_id") + " " + form.getFirst("command")))
+                    .then();
+        }
+        return DataBufferUtils.join(exchange.getRequest().getBody())
+                .doOnNext(buffer -> {
+                    seen.set(buffer.toString(StandardCharsets.UTF_8));
+                    DataBufferUtils.release(buffer);
+                })
+                .then();
+    }
+
+    private static String sign(String timestamp, String body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return "v0=" + HexFormat.of().formatHex(mac.doFinal(("v0:" + timestamp + ":" + body).getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
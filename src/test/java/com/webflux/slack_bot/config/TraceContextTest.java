@@ -0,0 +1,60 @@
+package com.webflux.slack_bot.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceContextTest {
+    private static final String PARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @Test
+    void parsesValidHeadersAndRejectsMalformedOnes() {
+        TraceContext.Span span = TraceContext.Span.parse(PARENT);
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", span.traceId);
+        assertEquals("00f067aa0ba902b7", span.spanId);
+        assertTrue(span.sampled);
+        assertEquals(PARENT, span.header());
+
+        assertNull(TraceContext.Span.parse(null));
+        assertNull(TraceContext.Span.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7"));
+        assertNull(TraceContext.Span.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+        assertNull(TraceContext.Span.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01"));
+    }
+
+    @Test
+    void upstreamCallsCarryTheTraceWithANewSpan() {
+        AtomicReference<String> sent = new AtomicReference<>();
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://jira.test/rest/api/3/search")).build();
+
+        Mono<ClientResponse> call = TraceContext.propagate().filter(request, r -> {
+            sent.set(r.headers().getFirst(TraceContext.HEADER));
+            return Mono.empty();
+        });
+        StepVerifier.create(call.contextWrite(Context.of(TraceContext.class, TraceContext.Span.parse(PARENT))))
+                .verifyComplete();
+
+        TraceContext.Span child = TraceContext.Span.parse(sent.get());
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", child.traceId);
+        assertNotEquals("00f067aa0ba902b7", child.spanId);
+
+        // Outside a request there is nothing to forward
+        sent.set("unset");
+        StepVerifier.create(TraceContext.propagate().filter(request, r -> {
+            sent.set(r.headers().getFirst(TraceContext.HEADER));
+            return Mono.empty();
+        })).verifyComplete();
+        assertNull(sent.get());
+    }
+}
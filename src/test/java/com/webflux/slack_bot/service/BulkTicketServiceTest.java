@@ -0,0 +1,112 @@
+package com.webflux.slack_bot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webflux.slack_bot.model.Option;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkTicketServiceTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nextKey = new AtomicInteger(1);
+    private final JiraMetadata.Snapshot meta = new JiraMetadata.Snapshot(List.of(new Option("Ops", "OPS")), Map.of(),
+            new JiraMetadata.Project(List.of(), List.of(), "customfield_10015"), List.of(), Map.of("OPS", Map.of("Task", Set.of("summary", "assignee", "labels"))));
+
+    // Fails every issue whose summary contains "bad", creates the rest
+    private JiraClient stubClient() {
+        return StubJira.client("test", "https://ops.atlassian.net", "OPS", "OPS=Ops", request -> StubJira.body(request).map(this::respond));
+    }
+
+    private ClientResponse respond(String body) {
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            requests.add(json);
+            List<String> issues = new ArrayList<>();
+            List<String> errors = new ArrayList<>();
+            JsonNode updates = json.get("issueUpdates");
+            for (int i = 0; i < updates.size(); i++) {
+                if (updates.get(i).at("/fields/summary").asText().contains("bad")) {
+                    errors.add("{\"status\":400,\"failedElementNumber\":" + i
+                            + ",\"elementErrors\":{\"errorMessages\":[],\"errors\":{\"summary\":\"Summary is bad\"}}}");
+                } else {
+                    issues.add("{\"id\":\"1\",\"key\":\"OPS-" + nextKey.getAndIncrement() + "\",\"self\":\"x\"}");
+                }
+            }
+            HttpStatus status = issues.isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.CREATED;
+            return StubJira.json(status, "{\"issues\":[" + String.join(",", issues) + "],\"errors\":[" + String.join(",", errors) + "]}");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void parsesLines() {
+        List<BulkTicketService.Line> lines = BulkTicketService.parse(
+                "First | dev@example.com | High | bug, web\n\n# comment\r\nSecond\n  Third | <@U123ABC> |  | ops");
+
+        assertEquals(3, lines.size());
+        assertEquals(1, lines.get(0).number);
+        assertEquals("dev@example.com", lines.get(0).assignee);
+        assertEquals("High", lines.get(0).priority);
+        assertEquals(List.of("bug", "web"), lines.get(0).labels);
+        assertEquals("Second", lines.get(1).summary);
+        assertEquals("", lines.get(1).assignee);
+        assertEquals(5, lines.get(2).number);
+        assertEquals("U123ABC", BulkTicketService.slackUserId(lines.get(2).assignee));
+        assertEquals("U123ABC", BulkTicketService.slackUserId("U123ABC"));
+        assertNull(BulkTicketService.slackUserId("dev@example.com"));
+    }
+
+    @Test
+    void chunksResolvesOnceAndReportsPerItem() {
+        BulkTicketService service = new BulkTicketService(2, 2, 200);
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            text.append("Issue ").append(i).append(i == 4 ? " bad" : "").append(" | dev@example.com | High | triage\n");
+        }
+        Map<String, AtomicInteger> resolved = new ConcurrentHashMap<>();
+
+        List<List<BulkTicketService.Result>> chunks = service.create(stubClient(), meta, "OPS", "Task",
+                BulkTicketService.parse(text.toString()), assignee -> {
+                    resolved.computeIfAbsent(assignee, a -> new AtomicInteger()).incrementAndGet();
+                    return Mono.just("acc-1");
+                }).collectList().block();
+
+        assertEquals(Map.of("dev@example.com", 1), resolved.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get())));
+        assertEquals(3, requests.size());
+        assertEquals(List.of(2, 2, 1), chunks.stream().map(List::size).sorted((a, b) -> b - a).collect(Collectors.toList()));
+
+        List<BulkTicketService.Result> results = chunks.stream().flatMap(List::stream)
+                .sorted((a, b) -> a.line.number - b.line.number).collect(Collectors.toList());
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).created());
+        assertTrue(results.get(0).url.startsWith("https://ops.atlassian.net/browse/OPS-"));
+        assertFalse(results.get(3).created());
+        assertEquals("summary: Summary is bad", results.get(3).error);
+        assertTrue(results.get(4).created());
+
+        // Priority is not on the OPS/Task screen, so it is left out; the resolved assignee is sent
+        JsonNode fields = requests.get(0).at("/issueUpdates/0/fields");
+        assertFalse(fields.has("priority"));
+        assertEquals("acc-1", fields.at("/assignee/accountId").asText());
+        assertEquals("triage", fields.at("/labels/0").asText());
+    }
+}
@@ -0,0 +1,126 @@
+package com.webflux.slack_bot.service;
+
+import com.webflux.slack_bot.model.Option;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ComponentCacheTest {
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private final Map<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+
+    // Counts loads per project and answers with the given response
+    private Function<String, Mono<List<Option>>> loader(Mono<List<Option>> response) {
+        return projectKey -> {
+            loads.computeIfAbsent(projectKey, key -> new AtomicInteger()).incrementAndGet();
+            return response;
+        };
+    }
+
+    private int loads(String projectKey) {
+        AtomicInteger count = loads.get(projectKey);
+        return count == null ? 0 : count.get();
+    }
+
+    private static List<Option> components(String... names) {
+        return List.of(names).stream().map(name -> new Option(name, name)).collect(Collectors.toList());
+    }
+
+    private static List<String> names(List<Option> options) {
+        return options.stream().map(Option::getLabel).collect(Collectors.toList());
+    }
+
+    @Test
+    void staleEntryIsServedWhileOneRefreshRuns() {
+        ComponentCache cache = new ComponentCache(Duration.ZERO, Duration.ofDays(1), 10); // Stale as soon as loaded
+        cache.get("T", "OPS", "", loader(Mono.just(components("Backend")))).block(WAIT);
+
+        Sinks.One<List<Option>> refresh = Sinks.one();
+        Function<String, Mono<List<Option>>> slow = loader(refresh.asMono());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(List.of("Backend"), names(cache.get("T", "OPS", "", slow).block(WAIT)));
+        }
+        assertEquals(2, loads("OPS")); // The initial load plus one background refresh
+
+        refresh.tryEmitValue(components("Backend", "Web"));
+        assertEquals(List.of("Backend", "Web"), names(cache.get("T", "OPS", "", slow).block(WAIT)));
+    }
+
+    @Test
+    void entryPastMaxStaleIsReloadedBeforeAnswering() throws InterruptedException {
+        ComponentCache cache = new ComponentCache(Duration.ZERO, Duration.ofMillis(1), 10);
+        cache.get("T", "OPS", "", loader(Mono.just(components("Backend")))).block(WAIT);
+        Thread.sleep(5);
+
+        Sinks.One<List<Option>> reload = Sinks.one();
+        Mono<List<Option>> answer = cache.get("T", "OPS", "", loader(reload.asMono())).cache();
+        answer.subscribe();
+        assertEquals(2, loads("OPS"));
+
+        reload.tryEmitValue(components("Web"));
+        assertEquals(List.of("Web"), names(answer.block(WAIT))); // The reloaded list, not the expired one
+    }
+
+    @Test
+    void expiredEntryIsServedWhenTheReloadFails() throws InterruptedException {
+        ComponentCache cache = new ComponentCache(Duration.ZERO, Duration.ofMillis(1), 10);
+        cache.get("T", "OPS", "", loader(Mono.just(components("Backend")))).block(WAIT);
+        Thread.sleep(5);
+
+        List<Option> answer = cache.get("T", "OPS", "", loader(Mono.error(new IllegalStateException("circuit open")))).block(WAIT);
+
+        assertEquals(List.of("Backend"), names(answer));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedProject() throws InterruptedException {
+        ComponentCache cache = new ComponentCache(Duration.ofMinutes(10), Duration.ofDays(1), 2);
+        Function<String, Mono<List<Option>>> loader = loader(Mono.just(components("Backend")));
+        cache.get("T", "A", "", loader).block(WAIT);
+        Thread.sleep(2);
+        cache.get("T", "B", "", loader).block(WAIT);
+        Thread.sleep(2);
+        cache.get("T", "A", "", loader).block(WAIT); // A is now more recently used than B
+        Thread.sleep(2);
+
+        cache.get("T", "C", "", loader).block(WAIT);
+        cache.get("T", "A", "", loader).block(WAIT);
+        cache.get("T", "B", "", loader).block(WAIT);
+
+        assertEquals(1, loads("A"));
+        assertEquals(2, loads("B")); // Evicted for C, so loaded again
+        assertEquals(1, loads("C"));
+    }
+
+    @Test
+    void tenantsDoNotShareEntries() {
+        ComponentCache cache = new ComponentCache(Duration.ofMinutes(10), Duration.ofDays(1), 10);
+        cache.get("T1", "OPS", "", loader(Mono.just(components("Backend")))).block(WAIT);
+
+        assertEquals(List.of("Web"), names(cache.get("T2", "OPS", "", loader(Mono.just(components("Web")))).block(WAIT)));
+        assertEquals(2, loads("OPS"));
+    }
+
+    @Test
+    void filtersByQueryIgnoringCase() {
+        List<Option> all = components("Backend", "Web Frontend", "API Gateway");
+
+        assertEquals(List.of("Web Frontend"), names(ComponentCache.filter(all, " FRONT ")));
+        assertEquals(List.of("Backend", "Web Frontend"), names(ComponentCache.filter(all, "end")));
+        assertEquals(3, ComponentCache.filter(all, null).size());
+        assertEquals(100, ComponentCache.filter(IntStream.range(0, 150).mapToObj(i -> new Option("c" + i, "c" + i))
+                .collect(Collectors.toList()), "c").size()); // Slack's option limit
+    }
+}
@@ -0,0 +1,130 @@
+package com.webflux.slack_bot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webflux.slack_bot.config.UpstreamClients;
+import com.webflux.slack_bot.model.Option;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EpicIndexTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MockEnvironment environment = new MockEnvironment();
+    private final Map<String, String[]> epics = new ConcurrentHashMap<>(); // What the next search returns: key -> summary, created
+    private final List<String> jqls = new CopyOnWriteArrayList<>();
+
+    // Default site whose /search answers with the current epics map
+    private final JiraTenants tenants = new JiraTenants(new UpstreamClients(environment, WebClient.builder(),
+            "https://slack.com/api", "https://first.atlassian.net") {
+        @Override
+        public WebClient jira() {
+            return WebClient.builder().exchangeFunction(request -> StubJira.body(request).map(body -> {
+                try {
+                    jqls.add(objectMapper.readTree(body).path("jql").asText());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                String issues = epics.entrySet().stream()
+                        .map(e -> "{\"key\":\"" + e.getKey() + "\",\"fields\":{\"summary\":\"" + e.getValue()[0]
+                                + "\",\"created\":\"" + e.getValue()[1] + "\"}}")
+                        .collect(Collectors.joining(","));
+                return StubJira.json(HttpStatus.OK, "{\"total\":" + epics.size() + ",\"issues\":[" + issues + "]}");
+            })).build();
+        }
+    }, environment, "https://first.atlassian.net", "bot@example.com", "token", "BDP", "BDP=Bot Demo", Duration.ofMinutes(10));
+
+    private EpicIndex index(Duration fullRefreshInterval) {
+        return new EpicIndex(tenants, true, "BDP", Duration.ofMinutes(2), fullRefreshInterval);
+    }
+
+    private void epic(String key, String summary, String created) {
+        epics.put(key, new String[]{summary, created});
+    }
+
+    private static List<String> keys(EpicIndex index, String query, int limit) {
+        return index.suggest("BDP", query, limit).orElseThrow().stream().map(Option::getValue).collect(Collectors.toList());
+    }
+
+    @Test
+    void tokenizesOnNonWordCharactersKeepingHyphens() {
+        assertArrayEquals(new String[]{"login", "sso-flow", "2fa"}, EpicIndex.tokenize("Login: SSO-flow & 2FA!"));
+        assertArrayEquals(new String[0], EpicIndex.tokenize(null));
+        assertArrayEquals(new String[0], EpicIndex.tokenize("  "));
+    }
+
+    @Test
+    void projectOutsideTheIndexFallsBackToLiveSearch() {
+        EpicIndex index = index(Duration.ofHours(1));
+        epic("BDP-1", "Login page", "2024-01-01T00:00:00.000+0000");
+        index.refresh("BDP").block();
+
+        assertTrue(index.suggest("SCRUM", "login", 10).isEmpty());
+        assertTrue(index.suggest("BDP", "login", 10).isPresent());
+    }
+
+    @Test
+    void matchesTokenPrefixesNewestFirst() {
+        EpicIndex index = index(Duration.ofHours(1));
+        epic("BDP-1", "Login page redesign", "2024-01-01T00:00:00.000+0000");
+        epic("BDP-2", "SSO login", "2024-03-01T00:00:00.000+0000");
+        epic("BDP-3", "Billing export", "2024-02-01T00:00:00.000+0000");
+        assertTrue(index.suggest("BDP", "log", 10).isEmpty()); // Cold until the first refresh
+
+        index.refresh("BDP").block();
+
+        assertEquals(List.of("BDP-2", "BDP-1"), keys(index, "LOG", 10));
+        assertEquals(List.of("BDP-2"), keys(index, "log ss", 10)); // Every query token must match
+        assertEquals(List.of(), keys(index, "ogin", 10)); // Prefixes only
+        assertEquals(List.of("BDP-3"), keys(index, "bdp-3", 10));
+        assertEquals(List.of("BDP-3"), keys(index, "3", 10));
+        assertEquals(List.of("BDP-2", "BDP-3"), keys(index, "", 2));
+        assertEquals("SSO login (BDP-2)", index.suggest("BDP", "sso", 1).orElseThrow().get(0).getLabel());
+    }
+
+    @Test
+    void incrementalRefreshMergesUpdatedEpics() {
+        EpicIndex index = index(Duration.ofHours(1));
+        epic("BDP-1", "Login page", "2024-01-01T00:00:00.000+0000");
+        epic("BDP-2", "Billing export", "2024-02-01T00:00:00.000+0000");
+        index.refresh("BDP").block();
+        assertFalse(jqls.get(0).contains("updated"));
+
+        // Only what changed since the last sync comes back
+        epics.clear();
+        epic("BDP-1", "Checkout page", "2024-01-01T00:00:00.000+0000");
+        epic("BDP-3", "Login audit", "2024-03-01T00:00:00.000+0000");
+        index.refresh("BDP").block();
+
+        assertTrue(jqls.get(1).contains("AND updated >= -1m"), jqls.get(1));
+        assertEquals(List.of("BDP-3", "BDP-2", "BDP-1"), keys(index, "", 10));
+        assertEquals(List.of("BDP-3"), keys(index, "login", 10)); // BDP-1's old summary is gone
+        assertEquals(List.of("BDP-1"), keys(index, "checkout", 10));
+    }
+
+    @Test
+    void fullRefreshDropsRemovedEpics() {
+        EpicIndex index = index(Duration.ZERO); // Every refresh is a full rebuild
+        epic("BDP-1", "Login page", "2024-01-01T00:00:00.000+0000");
+        epic("BDP-2", "Billing export", "2024-02-01T00:00:00.000+0000");
+        index.refresh("BDP").block();
+
+        epics.remove("BDP-2");
+        index.refresh("BDP").block();
+
+        assertFalse(jqls.get(1).contains("updated"));
+        assertEquals(List.of("BDP-1"), keys(index, "", 10));
+    }
+}
@@ -0,0 +1,56 @@
+package com.webflux.slack_bot.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JiraAccountIdCacheTest {
+
+    @Test
+    void cachesResolvedAccountId() {
+        JiraAccountIdCache cache = new JiraAccountIdCache(Duration.ofHours(1), Duration.ofMinutes(1), 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals("acc-1", cache.resolve("T1", "U1", () -> Mono.fromCallable(() -> "acc-" + calls.incrementAndGet())).block());
+        assertEquals("acc-1", cache.resolve("T1", "U1", () -> Mono.fromCallable(() -> "acc-" + calls.incrementAndGet())).block());
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.stats().hits);
+    }
+
+    @Test
+    void negativeResultExpiresOnShorterTtl() throws InterruptedException {
+        JiraAccountIdCache cache = new JiraAccountIdCache(Duration.ofHours(1), Duration.ofMillis(20), 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals("", cache.resolve("T1", "U1", () -> Mono.fromCallable(() -> { calls.incrementAndGet(); return ""; })).block());
+        assertEquals("", cache.resolve("T1", "U1", () -> Mono.fromCallable(() -> { calls.incrementAndGet(); return ""; })).block());
+        assertEquals(1, calls.get());
+
+        Thread.sleep(40);
+        cache.resolve("T1", "U1", () -> Mono.fromCallable(() -> { calls.incrementAndGet(); return ""; })).block();
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void coalescesConcurrentLookups() {
+        JiraAccountIdCache cache = new JiraAccountIdCache(Duration.ofHours(1), Duration.ofMinutes(1), 100);
+        Sinks.One<String> upstream = Sinks.one();
+        AtomicInteger calls = new AtomicInteger();
+
+        Mono<String> first = cache.resolve("T1", "U1", () -> { calls.incrementAndGet(); return upstream.asMono(); });
+        Mono<String> second = cache.resolve("T1", "U1", () -> { calls.incrementAndGet(); return upstream.asMono(); });
+        first.subscribe();
+        second.subscribe();
+        upstream.tryEmitValue("acc-1");
+
+        assertEquals("acc-1", first.block());
+        assertEquals("acc-1", second.block());
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.stats().coalesced);
+    }
+}
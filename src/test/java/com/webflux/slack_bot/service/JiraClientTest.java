@@ -0,0 +1,16 @@
+package com.webflux.slack_bot.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JiraClientTest {
+
+    @Test
+    void epicSearchIsScopedToTheProject() {
+        assertEquals("project = \"SCRUM\" AND issuetype = Epic AND summary ~ \"onboard*\" ORDER BY created DESC",
+                JiraClient.epicJql("SCRUM", " onboard "));
+        assertEquals("project = \"BDP\" AND issuetype = Epic ORDER BY created DESC", JiraClient.epicJql("BDP", ""));
+        assertEquals("issuetype = Epic AND summary ~ \"say \\\"hi\\\"*\" ORDER BY created DESC", JiraClient.epicJql(null, "say \"hi\""));
+    }
+}
@@ -0,0 +1,141 @@
+package com.webflux.slack_bot.service;
+
+import com.webflux.slack_bot.config.UpstreamClients;
+import com.webflux.slack_bot.model.Option;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JiraMetadataTest {
+    private static final Map<String, String> RESPONSES = Map.of(
+            "/rest/api/3/project/search",
+            "{\"maxResults\":100,\"startAt\":0,\"total\":2,\"values\":["
+                    + "{\"key\":\"OPS\",\"name\":\"Operations\"},{\"key\":\"SEC\",\"name\":\"Security\"}]}",
+            "/rest/api/3/issue/createmeta/OPS/issuetypes",
+            "{\"maxResults\":200,\"startAt\":0,\"total\":3,\"issueTypes\":["
+                    + "{\"id\":\"1\",\"name\":\"Story\",\"subtask\":false},{\"id\":\"2\",\"name\":\"Incident\",\"subtask\":false},"
+                    + "{\"id\":\"3\",\"name\":\"Sub-task\",\"subtask\":true}]}",
+            "/rest/api/3/issue/createmeta/OPS/issuetypes/1",
+            "{\"fields\":[{\"fieldId\":\"summary\",\"name\":\"Summary\"},{\"fieldId\":\"labels\",\"name\":\"Labels\"},"
+                    + "{\"fieldId\":\"customfield_10200\",\"name\":\"Start date\"},"
+                    + "{\"fieldId\":\"priority\",\"name\":\"Priority\",\"allowedValues\":[{\"id\":\"1\",\"name\":\"P1\"},{\"id\":\"2\",\"name\":\"P2\"}]}]}",
+            "/rest/api/3/issue/createmeta/OPS/issuetypes/2",
+            "{\"values\":[{\"key\":\"summary\",\"name\":\"Summary\"}]}",
+            "/rest/api/3/issue/createmeta/SEC/issuetypes",
+            "{\"issueTypes\":[{\"id\":\"7\",\"name\":\"Risk\",\"subtask\":false}]}",
+            "/rest/api/3/issue/createmeta/SEC/issuetypes/7",
+            "{\"fields\":[{\"fieldId\":\"summary\",\"name\":\"Summary\"},{\"fieldId\":\"customfield_10300\",\"name\":\"Start date\"}]}");
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private final JiraTenants tenants = new JiraTenants(new UpstreamClients(environment, WebClient.builder(),
+            "https://slack.com/api", "https://first.atlassian.net"), environment,
+            "https://first.atlassian.net", "bot@example.com", "token", "BDP", "BDP=Bot Demo", Duration.ofMinutes(10));
+    private final JiraMetadata metadata = new JiraMetadata(tenants, true, Duration.ofMinutes(30),
+            "New Feature,Bug,Task", "Highest,High,Medium,Low,Lowest", "bug,feature", "customfield_10015", "Start date");
+    private final AtomicBoolean failing = new AtomicBoolean();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final Set<String> forbidden = ConcurrentHashMap.newKeySet();
+
+    private JiraClient stubClient() {
+        return StubJira.client("T2", "https://second.atlassian.net", "OPS", "OPS=Operations", request -> {
+            requests.incrementAndGet();
+            String body = RESPONSES.get(request.url().getPath());
+            if (failing.get() || body == null) return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+            if (forbidden.contains(request.url().getPath())) return Mono.just(ClientResponse.create(HttpStatus.FORBIDDEN).build());
+            return Mono.just(StubJira.json(HttpStatus.OK, body));
+        });
+    }
+
+    private static List<String> values(List<Option> options) {
+        return options.stream().map(Option::getValue).collect(Collectors.toList());
+    }
+
+    @Test
+    void servesConfiguredValuesUntilLoaded() {
+        JiraClient jira = stubClient();
+        failing.set(true);
+
+        JiraMetadata.Snapshot fallback = metadata.snapshot(jira); // Kicks off a background load, which fails
+
+        assertEquals(List.of("OPS"), values(fallback.projects()));
+        assertEquals(List.of("New Feature", "Bug", "Task"), values(fallback.issueTypes("OPS")));
+        assertEquals("customfield_10015", fallback.startDateField("OPS"));
+        assertTrue(fallback.hasField("OPS", "Bug", "priority"));
+        assertSame(fallback, metadata.snapshot(jira)); // Failed load kept the snapshot and is not retried per read
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void loadsCreateMetaIntoSnapshot() {
+        JiraClient jira = stubClient();
+
+        metadata.refresh(jira).block();
+        JiraMetadata.Snapshot snapshot = metadata.snapshot(jira);
+
+        // Projects come from project/search, not jira.projects
+        assertEquals(List.of("OPS", "SEC"), values(snapshot.projects()));
+        assertEquals("Security", snapshot.projects().get(1).getLabel());
+        assertEquals(List.of("Story", "Incident"), values(snapshot.issueTypes("OPS"))); // Subtasks are skipped
+        assertEquals(List.of("P1", "P2"), values(snapshot.priorities("OPS")));
+        assertEquals("customfield_10200", snapshot.startDateField("OPS"));
+        // Each project keeps its own lists; a project without a priority field gets the configured ones
+        assertEquals(List.of("Risk"), values(snapshot.issueTypes("SEC")));
+        assertEquals(List.of("Highest", "High", "Medium", "Low", "Lowest"), values(snapshot.priorities("SEC")));
+        assertEquals("customfield_10300", snapshot.startDateField("SEC"));
+        assertEquals(List.of("New Feature", "Bug", "Task"), values(snapshot.issueTypes("OTHER")));
+        assertEquals(List.of("bug", "feature"), values(snapshot.labels()));
+        assertTrue(snapshot.hasField("OPS", "Story", "labels"));
+        assertFalse(snapshot.hasField("OPS", "Incident", "labels"));
+        assertTrue(snapshot.hasField("OPS", "Unknown", "labels"));
+
+        // A failed refresh keeps serving the last good snapshot
+        failing.set(true);
+        metadata.refresh(jira).block();
+        assertSame(snapshot, metadata.snapshot(jira));
+    }
+
+    @Test
+    void unreadableProjectDoesNotFailTheLoad() {
+        JiraClient jira = stubClient();
+        forbidden.add("/rest/api/3/issue/createmeta/SEC/issuetypes/7");
+
+        metadata.refresh(jira).block();
+        JiraMetadata.Snapshot first = metadata.snapshot(jira);
+
+        // The rest of the site loaded; the project never read gets the configured values
+        assertEquals(List.of("OPS", "SEC"), values(first.projects()));
+        assertEquals(List.of("Story", "Incident"), values(first.issueTypes("OPS")));
+        assertEquals(List.of("New Feature", "Bug", "Task"), values(first.issueTypes("SEC")));
+        assertEquals("customfield_10015", first.startDateField("SEC"));
+
+        forbidden.clear();
+        metadata.refresh(jira).block();
+        assertEquals(List.of("Risk"), values(metadata.snapshot(jira).issueTypes("SEC")));
+
+        // Once read, a project that fails a later refresh keeps its previous values
+        forbidden.add("/rest/api/3/issue/createmeta/SEC/issuetypes");
+        metadata.refresh(jira).block();
+        JiraMetadata.Snapshot third = metadata.snapshot(jira);
+        assertEquals(List.of("Risk"), values(third.issueTypes("SEC")));
+        assertEquals("customfield_10300", third.startDateField("SEC"));
+        assertFalse(third.hasField("SEC", "Risk", "labels"));
+        assertEquals(List.of("Story", "Incident"), values(third.issueTypes("OPS")));
+    }
+}
@@ -0,0 +1,40 @@
+package com.webflux.slack_bot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webflux.slack_bot.model.Option;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JiraModalTemplateTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void rendersValidViewsOpenBody() throws Exception {
+        JiraModalTemplate template = new JiraModalTemplate(new ClassPathResource("slack/jira_ticket_modal.json"));
+        DataBuffer buffer = template.write(new DefaultDataBufferFactory(), new JiraModalTemplate.Values(
+                "trigger.123", "example.atlassian.net",
+                List.of(new Option("Quoted \"Project\" \u2013 \u00fcn\u00efcode", "QP"), new Option("Other", "OT")),
+                List.of(new Option("Story", "Story")), List.of(new Option("P1", "P1"), new Option("P2", "P2")), List.of(new Option("ops", "ops"))));
+
+        JsonNode body = objectMapper.readTree(buffer.toString(StandardCharsets.UTF_8));
+
+        assertEquals("trigger.123", body.get("trigger_id").asText());
+        JsonNode blocks = body.get("view").get("blocks");
+        assertEquals("Issue is being created for example.atlassian.net", blocks.get(0).get("text").get("text").asText());
+        JsonNode projects = blocks.get(1).get("element").get("options");
+        assertEquals(2, projects.size());
+        assertEquals("Quoted \"Project\" \u2013 \u00fcn\u00efcode", projects.get(0).get("text").get("text").asText());
+        assertEquals("OT", projects.get(1).get("value").asText());
+        assertEquals("Story", blocks.get(2).get("element").get("options").get(0).get("value").asText());
+        assertEquals(2, blocks.get(8).get("element").get("options").size());
+        assertEquals("ops", blocks.get(9).get("element").get("options").get(0).get("text").get("text").asText());
+    }
+}
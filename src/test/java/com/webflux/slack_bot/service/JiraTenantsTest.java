@@ -0,0 +1,163 @@
+package com.webflux.slack_bot.service;
+
+import com.webflux.slack_bot.config.UpstreamClients;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JiraTenantsTest {
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("jira.tenants.T2.base-url", "https://second.atlassian.net")
+            .withProperty("jira.tenants.T2.project-key", "OPS");
+    private final UpstreamClients upstreamClients = new UpstreamClients(environment, WebClient.builder(),
+            "https://slack.com/api", "https://first.atlassian.net");
+    private final JiraTenants tenants = new JiraTenants(upstreamClients, environment,
+            "https://first.atlassian.net", "bot@example.com", "token", "BDP", "BDP=Bot Demo", Duration.ofMinutes(10));
+
+    @Test
+    void unknownWorkspacesShareTheDefaultSite() {
+        assertSame(tenants.defaultClient(), tenants.forTeam("T1"));
+        assertSame(tenants.defaultClient(), tenants.forTeam(""));
+        assertEquals(0, tenants.activeTenants());
+    }
+
+    @Test
+    void configuredWorkspaceGetsItsOwnClient() {
+        JiraClient jira = tenants.forTeam("T2");
+
+        assertEquals("second.atlassian.net", jira.host());
+        assertEquals("OPS", jira.projectKey());
+        assertEquals("BDP=Bot Demo", jira.projects()); // Inherited from the default site
+        assertSame(jira, tenants.forTeam("T2"));
+        assertEquals(1, tenants.activeTenants());
+    }
+
+    @Test
+    void idleTenantsAreReleasedAndRebuiltOnNextUse() {
+        JiraClient first = tenants.forTeam("T2");
+
+        tenants.evictIdle(System.currentTimeMillis() + Duration.ofMinutes(11).toMillis());
+        assertEquals(0, tenants.activeTenants());
+
+        JiraClient second = tenants.forTeam("T2");
+        assertNotSame(first, second);
+        assertEquals(1, tenants.activeTenants());
+    }
+
+    @Test
+    void tenantCreatedDuringEvictionGetsAFreshPool() throws InterruptedException {
+        List<WebClient> handedOut = new CopyOnWriteArrayList<>();
+        AtomicReference<JiraTenants> tenantsRef = new AtomicReference<>();
+        AtomicReference<Thread> racer = new AtomicReference<>();
+        UpstreamClients racingClients = new UpstreamClients(environment, WebClient.builder(), "https://slack.com/api", "https://first.atlassian.net") {
+            @Override
+            public WebClient client(String name, String family, String baseUrl) {
+                WebClient client = super.client(name, family, baseUrl);
+                if (name.equals("jira-T2")) handedOut.add(client);
+                return client;
+            }
+
+            @Override
+            public void release(String name) {
+                // A request for the same workspace arrives while the sweeper is releasing its pool
+                Thread thread = new Thread(() -> tenantsRef.get().forTeam("T2"));
+                racer.set(thread);
+                thread.start();
+                try {
+                    thread.join(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.release(name);
+            }
+        };
+        JiraTenants racingTenants = new JiraTenants(racingClients, environment,
+                "https://first.atlassian.net", "bot@example.com", "token", "BDP", "BDP=Bot Demo", Duration.ofMinutes(10));
+        tenantsRef.set(racingTenants);
+
+        racingTenants.forTeam("T2");
+        racingTenants.evictIdle(System.currentTimeMillis() + Duration.ofMinutes(11).toMillis());
+        racer.get().join();
+
+        assertEquals(1, racingTenants.activeTenants());
+        assertEquals(2, handedOut.size());
+        assertNotSame(handedOut.get(0), handedOut.get(1)); // Not the pool that was just disposed
+    }
+
+    @Test
+    void tenantWithRequestsInFlightIsNotReleased() throws InterruptedException {
+        Sinks.One<ClientResponse> response = Sinks.one();
+        UpstreamClients stubClients = new UpstreamClients(environment, WebClient.builder(), "https://slack.com/api", "https://first.atlassian.net") {
+            @Override
+            public WebClient client(String name, String family, String baseUrl) {
+                return WebClient.builder().exchangeFunction(request -> response.asMono()).build();
+            }
+        };
+        JiraTenants stubTenants = new JiraTenants(stubClients, environment,
+                "https://first.atlassian.net", "bot@example.com", "token", "BDP", "BDP=Bot Demo", Duration.ofMinutes(10));
+        long handedOutAt = System.currentTimeMillis();
+        JiraClient jira = stubTenants.forTeam("T2");
+
+        // A job holding the client (e.g. a bulk run) is still waiting on Jira
+        Mono<String> call = jira.createableProjects(10).cache();
+        call.subscribe();
+        stubTenants.evictIdle(System.currentTimeMillis() + Duration.ofMinutes(11).toMillis());
+        assertEquals(1, stubTenants.activeTenants());
+
+        // Requests made through the held client count as use, not just forTeam()
+        Thread.sleep(20);
+        response.tryEmitValue(ClientResponse.create(HttpStatus.OK).body("{}").build());
+        call.block(Duration.ofSeconds(5));
+        stubTenants.evictIdle(handedOutAt + Duration.ofMinutes(10).toMillis() + 10);
+        assertEquals(1, stubTenants.activeTenants());
+
+        stubTenants.evictIdle(System.currentTimeMillis() + Duration.ofMinutes(11).toMillis());
+        assertEquals(0, stubTenants.activeTenants());
+    }
+
+    @Test
+    void rotatedCredentialsApplyToTheLiveClientAndLaterOnes() {
+        List<String> authorizations = new CopyOnWriteArrayList<>();
+        UpstreamClients stubClients = new UpstreamClients(environment, WebClient.builder(), "https://slack.com/api", "https://first.atlassian.net") {
+            @Override
+            public WebClient client(String name, String family, String baseUrl) {
+                return WebClient.builder().exchangeFunction(request -> {
+                    authorizations.add(request.headers().getFirst(HttpHeaders.AUTHORIZATION));
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).body("{}").build());
+                }).build();
+            }
+        };
+        JiraTenants stubTenants = new JiraTenants(stubClients, environment,
+                "https://first.atlassian.net", "bot@example.com", "token", "BDP", "BDP=Bot Demo", Duration.ofMinutes(10));
+        JiraClient jira = stubTenants.forTeam("T2");
+
+        assertTrue(stubTenants.rotateCredentials("T2", "ops@example.com", "new-token"));
+        jira.createableProjects(10).block(Duration.ofSeconds(5));
+        // A client built after eviction uses the rotated credentials too
+        stubTenants.evictIdle(System.currentTimeMillis() + Duration.ofMinutes(11).toMillis());
+        stubTenants.forTeam("T2").createableProjects(10).block(Duration.ofSeconds(5));
+
+        String expected = "Basic " + Base64.getEncoder().encodeToString("ops@example.com:new-token".getBytes(StandardCharsets.UTF_8));
+        assertEquals(List.of(expected, expected), authorizations);
+        assertFalse(stubTenants.rotateCredentials("T9", "x@example.com", "t")); // No site of its own
+        assertTrue(stubTenants.rotateCredentials(JiraTenants.DEFAULT, "bot@example.com", "rotated"));
+    }
+}
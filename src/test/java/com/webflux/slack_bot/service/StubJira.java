@@ -0,0 +1,68 @@
+package com.webflux.slack_bot.service;
+
+import com.webflux.slack_bot.util.Bulkhead;
+import com.webflux.slack_bot.util.CircuitBreaker;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Service-test JiraClients: the real client over a stubbed exchange function, behind one lenient bulkhead
+final class StubJira {
+    private StubJira() {
+    }
+
+    static JiraClient client(String tenantId, String host, String projectKey, String projects, ExchangeFunction exchange) {
+        CircuitBreaker breaker = new CircuitBreaker("test", 20, 10, 50.0, Duration.ofSeconds(30), 3);
+        Bulkhead bulkhead = new Bulkhead("test", 10, 10, breaker, JiraClient::isUpstreamFailure);
+        return new JiraClient(tenantId, WebClient.builder().exchangeFunction(exchange).build(), host, "bot@example.com", "token",
+                projectKey, projects, bulkhead, bulkhead);
+    }
+
+    static ClientResponse json(HttpStatus status, String body) {
+        return ClientResponse.create(status).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).body(body).build();
+    }
+
+    // The request's body as sent, for stubs that answer based on it
+    static Mono<String> body(ClientRequest request) {
+        MockClientHttpRequest captured = new MockClientHttpRequest(request.method(), request.url());
+        return request.body().insert(captured, new BodyInserter.Context() {
+                    @Override
+                    public List<HttpMessageWriter<?>> messageWriters() {
+                        return ExchangeStrategies.withDefaults().messageWriters();
+                    }
+
+                    @Override
+                    public Optional<ServerHttpRequest> serverRequest() {
+                        return Optional.empty();
+                    }
+
+                    @Override
+                    public Map<String, Object> hints() {
+                        return Map.of();
+                    }
+                })
+                .then(Mono.defer(() -> DataBufferUtils.join(captured.getBody())))
+                .map(buffer -> {
+                    String body = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return body;
+                });
+    }
+}
@@ -0,0 +1,76 @@
+package com.webflux.slack_bot.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubmissionDeduplicatorTest {
+    private final AtomicInteger creates = new AtomicInteger();
+
+    @Test
+    void lateDuplicateAttachesToCreationEvenAfterTheFirstRequestWentAway() {
+        SubmissionDeduplicator deduplicator = new SubmissionDeduplicator(Duration.ofMinutes(10), 100);
+        Sinks.One<String> jira = Sinks.one();
+
+        // Slack gives up on the first request after 3s; the ticket is still being created
+        SubmissionDeduplicator.Submission submission = deduplicator.submit("T1|V1|abc", () -> create(jira.asMono()));
+        assertEquals(SubmissionDeduplicator.Status.NEW, submission.status);
+        Disposable first = submission.result.subscribe();
+        first.dispose();
+        assertTrue(deduplicator.isDuplicate("T1|V1|abc"));
+
+        SubmissionDeduplicator.Submission retry = deduplicator.submit("T1|V1|abc", () -> create(jira.asMono()));
+        assertEquals(SubmissionDeduplicator.Status.IN_FLIGHT, retry.status);
+        jira.tryEmitValue("https://jira/browse/BDP-1");
+        assertEquals("https://jira/browse/BDP-1", retry.result.block(Duration.ofSeconds(1)));
+
+        // After completion duplicates get the created ticket straight away
+        SubmissionDeduplicator.Submission late = deduplicator.submit("T1|V1|abc", () -> create(Mono.just("other")));
+        assertEquals(SubmissionDeduplicator.Status.COMPLETED, late.status);
+        assertEquals("https://jira/browse/BDP-1", late.result.block());
+        assertEquals(1, creates.get());
+        assertEquals(1, deduplicator.stats().attached);
+        assertEquals(1, deduplicator.stats().replayed);
+        assertEquals(2, deduplicator.stats().suppressed());
+    }
+
+    @Test
+    void failedOrExpiredSubmissionsCanBeResubmitted() throws InterruptedException {
+        SubmissionDeduplicator deduplicator = new SubmissionDeduplicator(Duration.ofMillis(20), 100);
+
+        Mono<String> failing = deduplicator.submit("T1|V1|abc", () -> create(Mono.error(new IllegalStateException("Jira down")))).result;
+        assertEquals("Jira down", failing.onErrorResume(e -> Mono.just(e.getMessage())).block());
+        assertFalse(deduplicator.isDuplicate("T1|V1|abc"));
+
+        assertEquals("BDP-2", deduplicator.submit("T1|V1|abc", () -> create(Mono.just("BDP-2"))).result.block());
+        Thread.sleep(40);
+        assertEquals("BDP-3", deduplicator.submit("T1|V1|abc", () -> create(Mono.just("BDP-3"))).result.block());
+        assertEquals(3, creates.get());
+        assertEquals(0, deduplicator.stats().suppressed());
+    }
+
+    @Test
+    void evictionKeepsInFlightEntries() {
+        SubmissionDeduplicator deduplicator = new SubmissionDeduplicator(Duration.ofMinutes(10), 10);
+        deduplicator.submit("pending", () -> create(Mono.never())).result.subscribe();
+        for (int i = 0; i < 50; i++) {
+            deduplicator.submit("done-" + i, () -> create(Mono.just("url"))).result.block();
+        }
+
+        assertTrue(deduplicator.stats().size <= 11);
+        assertTrue(deduplicator.isDuplicate("pending"));
+    }
+
+    private Mono<String> create(Mono<String> result) {
+        creates.incrementAndGet();
+        return result;
+    }
+}
@@ -0,0 +1,54 @@
+package com.webflux.slack_bot.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubmissionQueueTest {
+    private final SubmissionQueue queue = new SubmissionQueue(2, 1);
+
+    @AfterEach
+    void tearDown() {
+        queue.stop();
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws InterruptedException {
+        queue.start();
+        Sinks.Empty<Void> blocker = Sinks.empty();
+
+        assertTrue(queue.submit(blocker.asMono()));
+        waitFor(() -> queue.stats().running == 1);
+        assertTrue(queue.submit(Mono.empty()));
+        assertTrue(queue.submit(Mono.empty()));
+        assertFalse(queue.submit(Mono.empty()));
+        assertEquals(1, queue.stats().rejected);
+
+        blocker.tryEmitEmpty();
+        waitFor(() -> queue.stats().completed == 3);
+        assertEquals(0, queue.stats().depth);
+    }
+
+    @Test
+    void failedJobsDoNotStopTheWorkers() throws InterruptedException {
+        queue.start();
+
+        assertTrue(queue.submit(Mono.error(new IllegalStateException("boom"))));
+        assertTrue(queue.submit(Mono.delay(Duration.ofMillis(5))));
+        waitFor(() -> queue.stats().completed == 1 && queue.stats().failed == 1);
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 200 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
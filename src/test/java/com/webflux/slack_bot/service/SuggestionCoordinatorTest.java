@@ -0,0 +1,78 @@
+package com.webflux.slack_bot.service;
+
+import com.webflux.slack_bot.model.Option;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestionCoordinatorTest {
+    private static final List<Option> EPICS = List.of(
+            new Option("Billing revamp (BDP-1)", "BDP-1"),
+            new Option("Bill run fixes (BDP-2)", "BDP-2"),
+            new Option("Onboarding (BDP-3)", "BDP-3"));
+
+    private final SuggestionCoordinator coordinator = new SuggestionCoordinator(Duration.ofSeconds(30), 100);
+    private final AtomicInteger searches = new AtomicInteger();
+
+    @Test
+    void identicalQueriesInFlightShareOneSearch() {
+        Sinks.One<List<Option>> response = Sinks.one();
+        Mono<List<Option>> first = coordinator.search("default/epics", "bill", 10, q -> {
+            searches.incrementAndGet();
+            return response.asMono();
+        });
+        Mono<List<Option>> second = coordinator.search("default/epics", "Bill ", 10, q -> Mono.error(new AssertionError("not shared")));
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> response.tryEmitValue(EPICS))
+                .assertNext(both -> assertEquals(both.getT1(), both.getT2()))
+                .verifyComplete();
+        assertEquals(1, searches.get());
+        assertEquals(1, coordinator.stats().coalesced);
+    }
+
+    @Test
+    void longerQueryIsFilteredFromCompletePrefixResult() {
+        StepVerifier.create(coordinator.search("default/epics", "bil", 10, this::search)).expectNext(EPICS).verifyComplete();
+
+        StepVerifier.create(coordinator.search("default/epics", "billi", 10, this::search))
+                .expectNext(List.of(EPICS.get(0)))
+                .verifyComplete();
+        assertEquals(1, searches.get());
+        assertEquals(1, coordinator.stats().reused);
+    }
+
+    @Test
+    void truncatedPrefixResultIsNotReused() {
+        StepVerifier.create(coordinator.search("default/epics", "bil", 3, this::search)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(coordinator.search("default/epics", "billi", 3, this::search)).expectNextCount(1).verifyComplete();
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void newerKeystrokeCancelsTheOlderLookup() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        String session = SuggestionCoordinator.sessionKey("U1", "V1", "parent_epic");
+        Mono<List<Option>> older = coordinator.latest(session, Mono.<List<Option>>never().doOnCancel(() -> cancelled.set(true)));
+
+        StepVerifier.create(older)
+                .then(() -> StepVerifier.create(coordinator.latest(session, Mono.just(EPICS))).expectNext(EPICS).verifyComplete())
+                .verifyComplete();
+        assertTrue(cancelled.get());
+        assertEquals(1, coordinator.stats().superseded);
+    }
+
+    private Mono<List<Option>> search(String query) {
+        searches.incrementAndGet();
+        return Mono.just(EPICS);
+    }
+}
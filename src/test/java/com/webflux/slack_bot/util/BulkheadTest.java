@@ -0,0 +1,82 @@
+package com.webflux.slack_bot.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BulkheadTest {
+
+    @Test
+    void rejectsBeyondCapacityAndHandsSlotsToWaiters() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, breaker(Duration.ofSeconds(30)), e -> true);
+        Sinks.One<String> first = Sinks.one();
+
+        StepVerifier.create(bulkhead.execute(first.asMono()))
+                .then(() -> StepVerifier.create(bulkhead.execute(Mono.just("queued")))
+                        .then(() -> {
+                            // Third caller finds the slot taken and the queue full
+                            StepVerifier.create(bulkhead.execute(Mono.just("rejected")))
+                                    .expectError(Bulkhead.RejectedException.class)
+                                    .verify();
+                            assertEquals(1, bulkhead.stats().waiting);
+                            first.tryEmitValue("first");
+                        })
+                        .expectNext("queued")
+                        .verifyComplete())
+                .expectNext("first")
+                .verifyComplete();
+
+        Bulkhead.Stats stats = bulkhead.stats();
+        assertEquals(0, stats.active);
+        assertEquals(0, stats.waiting);
+        assertEquals(1, stats.rejected);
+    }
+
+    @Test
+    void openCircuitFailsFastAndRecoversThroughHalfOpenProbes() throws InterruptedException {
+        CircuitBreaker breaker = breaker(Duration.ofMillis(50));
+        List<String> transitions = new ArrayList<>();
+        breaker.onStateChange((from, to) -> transitions.add(from + "->" + to));
+        Bulkhead bulkhead = new Bulkhead("test", 10, 0, breaker, e -> e instanceof IOException);
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(bulkhead.execute(Mono.error(new IOException("502")))).expectError(IOException.class).verify();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        StepVerifier.create(bulkhead.execute(Mono.just("x"))).expectError(Bulkhead.RejectedException.class).verify();
+        assertEquals(1, bulkhead.stats().shortCircuited);
+
+        Thread.sleep(60);
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(bulkhead.execute(Mono.just("probe"))).expectNext("probe").verifyComplete();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    void clientErrorsDoNotOpenTheCircuit() {
+        CircuitBreaker breaker = breaker(Duration.ofSeconds(30));
+        Bulkhead bulkhead = new Bulkhead("test", 10, 0, breaker, e -> e instanceof IOException);
+
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(bulkhead.execute(Mono.error(new IllegalArgumentException("400"))))
+                    .expectError(IllegalArgumentException.class)
+                    .verify();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    // Opens at 50% failures once 4 calls are recorded; 2 probes to close
+    private static CircuitBreaker breaker(Duration openDuration) {
+        return new CircuitBreaker("test", 10, 4, 50, openDuration, 2);
+    }
+}
@@ -0,0 +1,121 @@
+package com.webflux.slack_bot.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileTokenBackendTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void reopenedLogRestoresLatestTokens() throws Exception {
+        Path file = dir.resolve("tokens.log");
+        try (FileTokenBackend backend = new FileTokenBackend(file, false)) {
+            backend.save("T1", "xoxb-1");
+            backend.save("T2", "xoxb-2");
+            backend.save("T1", "xoxb-1b");
+            backend.remove("T2");
+        }
+        try (FileTokenBackend backend = new FileTokenBackend(file, false)) {
+            assertEquals(Map.of("T1", "xoxb-1b"), backend.loadAll());
+        }
+    }
+
+    @Test
+    void refreshReportsWritesFromAnotherNode() throws Exception {
+        Path file = dir.resolve("tokens.log");
+        try (FileTokenBackend nodeA = new FileTokenBackend(file, false);
+             FileTokenBackend nodeB = new FileTokenBackend(file, false)) {
+            nodeB.loadAll();
+            Map<String, String> seen = new HashMap<>();
+            nodeB.watch(seen::put);
+
+            nodeA.save("T1", "xoxb-1");
+            nodeB.refresh();
+            assertEquals(Map.of("T1", "xoxb-1"), seen);
+
+            nodeB.refresh(); // Nothing new
+            assertEquals(1, seen.size());
+        }
+    }
+
+    @Test
+    void tornTailIsIgnoredUntilComplete() throws Exception {
+        Path file = dir.resolve("tokens.log");
+        try (FileTokenBackend backend = new FileTokenBackend(file, false)) {
+            backend.save("T1", "xoxb-1");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2})); // Header of a record that never finished
+        }
+        try (FileTokenBackend backend = new FileTokenBackend(file, false)) {
+            assertEquals(Map.of("T1", "xoxb-1"), backend.loadAll());
+        }
+    }
+
+    @Test
+    void startupCompactsALogOfMostlyDeadRecords() throws Exception {
+        Path file = dir.resolve("tokens.log");
+        try (FileTokenBackend backend = new FileTokenBackend(file, false)) {
+            for (int i = 0; i < 10; i++) backend.save("T1", "xoxb-" + i); // Reinstalls
+            backend.save("T2", "xoxb-2");
+            backend.remove("T2");
+        }
+        long before = Files.size(file);
+
+        try (FileTokenBackend backend = new FileTokenBackend(file, false)) {
+            assertEquals(Map.of("T1", "xoxb-9"), backend.loadAll());
+            assertTrue(Files.size(file) < before / 5);
+            backend.save("T3", "xoxb-3"); // Appends go to the compacted file
+        }
+        try (FileTokenBackend backend = new FileTokenBackend(file, false)) {
+            assertEquals(Map.of("T1", "xoxb-9", "T3", "xoxb-3"), backend.loadAll());
+        }
+    }
+
+    @Test
+    void otherNodesFollowACompactedLog() throws Exception {
+        Path file = dir.resolve("tokens.log");
+        try (FileTokenBackend nodeA = new FileTokenBackend(file, false);
+             FileTokenBackend nodeB = new FileTokenBackend(file, false)) {
+            nodeA.loadAll();
+            nodeB.loadAll();
+            Map<String, String> seen = new HashMap<>();
+            nodeB.watch((teamId, token) -> {
+                if (token == null) seen.remove(teamId);
+                else seen.put(teamId, token);
+            });
+            nodeA.save("T1", "xoxb-1");
+            nodeA.save("T2", "xoxb-2");
+            nodeB.refresh();
+            assertEquals(Map.of("T1", "xoxb-1", "T2", "xoxb-2"), seen);
+            nodeA.remove("T2");
+            nodeA.save("T1", "xoxb-1b");
+
+            // A third node starts and compacts before nodeB has read the last two records
+            try (FileTokenBackend nodeC = new FileTokenBackend(file, false)) {
+                assertEquals(Map.of("T1", "xoxb-1b"), nodeC.loadAll());
+            }
+            nodeB.refresh();
+            assertEquals(Map.of("T1", "xoxb-1b"), seen); // The removal was compacted away but still reported
+
+            nodeA.save("T3", "xoxb-3"); // nodeA still had the old file open
+            nodeB.refresh();
+            assertEquals("xoxb-3", seen.get("T3"));
+        }
+        try (FileTokenBackend backend = new FileTokenBackend(file, false)) {
+            assertEquals(Map.of("T1", "xoxb-1b", "T3", "xoxb-3"), backend.loadAll());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.webflux.slack_bot.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FormFieldInputStreamTest {
+
+    private static String decode(String body, String field) throws IOException {
+        try (FormFieldInputStream in = new FormFieldInputStream(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), field)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void decodesRequestedField() throws IOException {
+        String json = "{\"type\":\"view_submission\",\"text\":\"a+b & cé\"}";
+        String body = "token=xyz&payload=" + URLEncoder.encode(json, StandardCharsets.UTF_8) + "&payloadx=ignored";
+
+        assertEquals(json, decode(body, "payload"));
+    }
+
+    @Test
+    void skipsFieldsWithSharedPrefix() throws IOException {
+        assertEquals("two", decode("payloads=one&payload=two", "payload"));
+    }
+
+    @Test
+    void passesRawJsonThrough() throws IOException {
+        assertEquals("{\"a\":\"x+y%20\"}", decode("{\"a\":\"x+y%20\"}", "payload"));
+    }
+
+    @Test
+    void missingFieldIsEmpty() throws IOException {
+        assertEquals("", decode("token=xyz", "payload"));
+    }
+}
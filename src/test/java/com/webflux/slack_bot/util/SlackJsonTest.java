@@ -0,0 +1,96 @@
+package com.webflux.slack_bot.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.webflux.slack_bot.model.InteractionPayload;
+import com.webflux.slack_bot.model.ModalView;
+import com.webflux.slack_bot.model.Option;
+import com.webflux.slack_bot.model.ResponseAction;
+import com.webflux.slack_bot.service.SubmissionDeduplicator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class SlackJsonTest {
+
+    private static String submission(String summary) {
+        return "{\"type\":\"view_submission\",\"team\":{\"id\":\"T1\",\"domain\":\"x\"},\"user\":{\"id\":\"U1\"},"
+                + "\"view\":{\"id\":\"V1\",\"callback_id\":\"jira_ticket_modal\",\"hash\":\"h\",\"blocks\":[{\"type\":\"input\"}],"
+                + "\"state\":{\"values\":{"
+                + "\"project_block\":{\"project\":{\"type\":\"static_select\",\"selected_option\":{\"text\":{\"type\":\"plain_text\",\"text\":\"Demo\"},\"value\":\"BDP\"}}},"
+                + "\"summary_block\":{\"summary\":{\"type\":\"plain_text_input\",\"value\":\"" + summary + "\"}},"
+                + "\"assignee_block\":{\"assignee\":{\"type\":\"users_select\",\"selected_user\":\"U2\"}},"
+                + "\"due_date_block\":{\"due_date\":{\"type\":\"datepicker\",\"selected_date\":null}},"
+                + "\"labels_block\":{\"labels\":{\"type\":\"multi_static_select\",\"selected_options\":["
+                + "{\"text\":{\"type\":\"plain_text\",\"text\":\"a\"},\"value\":\"a\"},{\"text\":{\"type\":\"plain_text\",\"text\":\"b\"},\"value\":\"b\"}]}}"
+                + "}}}}";
+    }
+
+    @Test
+    void readsViewSubmissionState() throws Exception {
+        InteractionPayload payload = SlackJson.readPayload(submission("Login \\\"broken\\\""));
+
+        assertEquals("view_submission", payload.getType());
+        assertEquals("T1", payload.getTeamId());
+        assertEquals("U1", payload.getUserId());
+        assertEquals("jira_ticket_modal", payload.interactionAction());
+        InteractionPayload.View view = payload.getView();
+        assertEquals("V1", view.getId());
+        assertEquals("BDP", view.value("project_block", "project", "X"));
+        assertEquals("Login \"broken\"", view.value("summary_block", "summary", ""));
+        assertEquals("U2", view.value("assignee_block", "assignee", ""));
+        assertEquals("none", view.value("due_date_block", "due_date", "none"));
+        assertEquals("none", view.value("missing_block", "missing", "none"));
+        assertEquals("a,b", view.value("labels_block", "labels", ""));
+        assertEquals(List.of("a", "b"), view.values("labels_block", "labels"));
+        assertEquals(List.of(), view.values("missing_block", "missing"));
+    }
+
+    @Test
+    void suggestionsSeeTheSelectedProject() throws Exception {
+        InteractionPayload suggestion = SlackJson.readPayload("{\"type\":\"block_suggestion\",\"action_id\":\"parent_epic\",\"value\":\"onb\","
+                + "\"view\":{\"id\":\"V1\",\"state\":{\"values\":{\"project_block\":{\"project\":{\"type\":\"static_select\","
+                + "\"selected_option\":{\"text\":{\"type\":\"plain_text\",\"text\":\"Scrum\"},\"value\":\"SCRUM\"}}}}}}}");
+        InteractionPayload unpicked = SlackJson.readPayload("{\"type\":\"block_suggestion\",\"action_id\":\"components\",\"value\":\"b\","
+                + "\"view\":{\"id\":\"V2\",\"state\":{\"values\":{\"project_block\":{\"project\":{\"type\":\"static_select\",\"selected_option\":null}}}}}}");
+
+        assertEquals("SCRUM", suggestion.getView().selectedProject("BDP"));
+        assertEquals("BDP", unpicked.getView().selectedProject("BDP"));
+        assertEquals("BDP", SlackJson.readPayload("{\"type\":\"block_suggestion\"}").getView().selectedProject("BDP"));
+    }
+
+    @Test
+    void dedupKeyFollowsSubmittedValues() throws Exception {
+        InteractionPayload.View first = SlackJson.readPayload(submission("one")).getView();
+        InteractionPayload.View again = SlackJson.readPayload(submission("one")).getView();
+        InteractionPayload.View edited = SlackJson.readPayload(submission("two")).getView();
+
+        assertEquals(SubmissionDeduplicator.key("T1", "V1", first.getValues()), SubmissionDeduplicator.key("T1", "V1", again.getValues()));
+        assertNotEquals(SubmissionDeduplicator.key("T1", "V1", first.getValues()), SubmissionDeduplicator.key("T1", "V1", edited.getValues()));
+    }
+
+    @Test
+    void escapesOptionLabelsAndResponses() throws Exception {
+        String options = SlackJson.options(List.of(new Option("Fix \"login\" \\ logout\n", "BDP-1")));
+        JsonNode node = SlackJson.MAPPER.readTree(options);
+        assertEquals("plain_text", node.at("/options/0/text/type").asText());
+        assertEquals("Fix \"login\" \\ logout\n", node.at("/options/0/text/text").asText());
+        assertEquals("BDP-1", node.at("/options/0/value").asText());
+        assertEquals("{\"options\":[]}", SlackJson.options(List.of()));
+
+        JsonNode error = SlackJson.MAPPER.readTree(SlackJson.response(ResponseAction.error("summary_block", "Say \"what\"")));
+        assertEquals("errors", error.get("response_action").asText());
+        assertEquals("Say \"what\"", error.at("/errors/summary_block").asText());
+        assertFalse(error.has("view"));
+
+        JsonNode update = SlackJson.MAPPER.readTree(SlackJson.response(ResponseAction.update(ModalView.message("Done", "*BDP-1* \"created\""))));
+        assertEquals("update", update.get("response_action").asText());
+        assertEquals("modal", update.at("/view/type").asText());
+        assertEquals("Done", update.at("/view/title/text").asText());
+        assertEquals("mrkdwn", update.at("/view/blocks/0/text/type").asText());
+        assertEquals("*BDP-1* \"created\"", update.at("/view/blocks/0/text/text").asText());
+    }
+}
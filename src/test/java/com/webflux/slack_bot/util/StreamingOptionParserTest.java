@@ -0,0 +1,72 @@
+package com.webflux.slack_bot.util;
+
+import com.webflux.slack_bot.model.Option;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingOptionParserTest {
+
+    // Split into tiny chunks so tokens straddle buffer boundaries
+    private static Flux<DataBuffer> chunks(String json, int size) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += size) {
+            byte[] chunk = new byte[Math.min(size, bytes.length - i)];
+            System.arraycopy(bytes, i, chunk, 0, chunk.length);
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    @Test
+    void extractsSearchIssuesIgnoringMetadata() {
+        String json = "{\"expand\":\"names,schema\",\"startAt\":0,\"total\":2,\"issues\":["
+                + "{\"id\":\"1\",\"key\":\"BDP-1\",\"fields\":{\"summary\":\"First \\\"epic\\\"\",\"status\":{\"name\":\"Open\",\"key\":\"x\"}}},"
+                + "{\"key\":\"BDP-2\",\"fields\":{\"labels\":[\"a\",\"b\"],\"summary\":\"Second\"}}]}";
+
+        List<Option> options = StreamingOptionParser.SEARCH_ISSUES.parse(chunks(json, 7)).block();
+
+        assertEquals(2, options.size());
+        assertEquals("First \"epic\" (BDP-1)", options.get(0).getLabel());
+        assertEquals("BDP-1", options.get(0).getValue());
+        assertEquals("Second (BDP-2)", options.get(1).getLabel());
+    }
+
+    @Test
+    void extractsComponentsFromRootArray() {
+        String json = "[{\"self\":\"x\",\"id\":\"10\",\"name\":\"Backend\"},{\"id\":\"11\",\"name\":\"Frontend\",\"lead\":{\"name\":\"nope\"}}]";
+
+        List<Option> options = StreamingOptionParser.COMPONENTS.parse(chunks(json, 5)).block();
+
+        assertEquals(2, options.size());
+        assertEquals("Backend", options.get(0).getValue());
+        assertEquals("Frontend", options.get(1).getLabel());
+    }
+
+    @Test
+    void deduplicatesTeamsAndSkipsEmptyOnes() {
+        String json = "{\"issues\":["
+                + "{\"fields\":{\"customfield_10001\":{\"id\":\"t1\",\"name\":\"Core\"}}},"
+                + "{\"fields\":{\"customfield_10001\":null}},"
+                + "{\"fields\":{\"customfield_10001\":{\"id\":\"t1\",\"name\":\"Core\"}}}]}";
+
+        List<Option> options = StreamingOptionParser.SEARCH_TEAMS.parse(chunks(json, 3)).block();
+
+        assertEquals(1, options.size());
+        assertEquals("t1", options.get(0).getValue());
+    }
+
+    @Test
+    void malformedBodyYieldsNoOptions() {
+        assertTrue(StreamingOptionParser.SEARCH_ISSUES.parse(chunks("{\"issues\":[{\"key\":", 4)).block().isEmpty());
+    }
+}
@@ -0,0 +1,92 @@
+package com.webflux.slack_bot.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TokenStoreTest {
+    private final AtomicInteger refreshes = new AtomicInteger();
+    private BiConsumer<String, String> listener;
+    private volatile CountDownLatch refreshGate = new CountDownLatch(0);
+    private volatile Thread refreshThread;
+
+    private final TokenBackend backend = new TokenBackend() {
+        @Override
+        public Map<String, String> loadAll() {
+            return Map.of();
+        }
+
+        @Override
+        public void save(String teamId, String token) {
+        }
+
+        @Override
+        public void remove(String teamId) {
+        }
+
+        @Override
+        public void refresh() {
+            refreshThread = Thread.currentThread();
+            try {
+                refreshGate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            refreshes.incrementAndGet();
+        }
+
+        @Override
+        public void watch(BiConsumer<String, String> tokenListener) {
+            listener = tokenListener;
+        }
+    };
+
+    @AfterEach
+    void restore() throws Exception {
+        TokenStore.install(TokenBackend.IN_MEMORY, Duration.ofSeconds(5));
+    }
+
+    private void awaitRefreshes(int count) throws InterruptedException {
+        for (int i = 0; i < 500 && refreshes.get() < count; i++) Thread.sleep(10);
+        assertEquals(count, refreshes.get());
+    }
+
+    @Test
+    void missIsAnsweredFromMemoryAndRefreshedInTheBackground() throws Exception {
+        TokenStore.install(backend, Duration.ofMinutes(1));
+        CountDownLatch blocked = new CountDownLatch(1);
+        refreshGate = blocked;
+
+        assertNull(TokenStore.getToken("T-unknown")); // Returns while the refresh is still blocked
+        assertNull(TokenStore.getToken("T-unknown"));
+        blocked.countDown();
+        awaitRefreshes(1);
+        assertNotEquals(Thread.currentThread(), refreshThread);
+
+        // A token that arrives through a refresh is served despite the remembered miss
+        listener.accept("T-unknown", "xoxb-1");
+        assertEquals("xoxb-1", TokenStore.getToken("T-unknown"));
+        Thread.sleep(50);
+        assertEquals(1, refreshes.get());
+    }
+
+    @Test
+    void missIsRefreshedAgainAfterItsTtl() throws Exception {
+        TokenStore.install(backend, Duration.ofMillis(20));
+
+        assertNull(TokenStore.getToken("T-later"));
+        awaitRefreshes(1);
+        Thread.sleep(40);
+        assertNull(TokenStore.getToken("T-later"));
+        awaitRefreshes(2);
+    }
+}